@@ -0,0 +1,38 @@
+package com.example.demolition.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "process.bulkhead")
+public class ConnectionBulkheadProperties {
+
+    /**
+     * API requests allowed to run at once. Keep it at or just below the Hikari pool size.
+     */
+    private int maxConcurrent = 20;
+
+    /**
+     * How long a request may queue for a slot before it is turned away with 503.
+     */
+    private Duration acquireTimeout = Duration.ofSeconds(2);
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public Duration getAcquireTimeout() {
+        return acquireTimeout;
+    }
+
+    public void setAcquireTimeout(Duration acquireTimeout) {
+        this.acquireTimeout = acquireTimeout;
+    }
+
+}
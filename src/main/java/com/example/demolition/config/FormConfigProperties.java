@@ -0,0 +1,39 @@
+package com.example.demolition.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "process.form-config")
+public class FormConfigProperties {
+
+    /**
+     * YAML file with a {@code form} block that replaces the one in application.yml and is reloaded when it
+     * changes. Empty to use application.yml only.
+     */
+    private String location = "";
+
+    /**
+     * How often the file is checked for changes.
+     */
+    private Duration watchInterval = Duration.ofSeconds(10);
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public Duration getWatchInterval() {
+        return watchInterval;
+    }
+
+    public void setWatchInterval(Duration watchInterval) {
+        this.watchInterval = watchInterval;
+    }
+
+}
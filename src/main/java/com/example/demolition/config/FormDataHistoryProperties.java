@@ -0,0 +1,49 @@
+package com.example.demolition.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "form-data.history")
+public class FormDataHistoryProperties {
+
+    /**
+     * Whether the background compaction job runs at all.
+     */
+    private boolean compactionEnabled = true;
+
+    /**
+     * History entries kept per (process, step), newest first.
+     */
+    private int retainDepth = 5;
+
+    /**
+     * Processes compacted per statement / transaction.
+     */
+    private int batchSize = 500;
+
+    public boolean isCompactionEnabled() {
+        return compactionEnabled;
+    }
+
+    public void setCompactionEnabled(boolean compactionEnabled) {
+        this.compactionEnabled = compactionEnabled;
+    }
+
+    public int getRetainDepth() {
+        return retainDepth;
+    }
+
+    public void setRetainDepth(int retainDepth) {
+        this.retainDepth = retainDepth;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+}
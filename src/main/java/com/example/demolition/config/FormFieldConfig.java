@@ -15,6 +15,11 @@ public class FormFieldConfig {
 
     public static class ProcessConfig {
         private String name;
+        // Workflow: a new process enters the initial step's state and is moved on by the start event
+        private String initialStep;
+        private String startEvent;
+        // States without a step, where a process ends
+        private List<String> endStates = List.of();
         private Map<String, StepConfig> steps = new HashMap<>();
 
         public String getName() {
@@ -25,6 +30,30 @@ public class FormFieldConfig {
             this.name = name;
         }
 
+        public String getInitialStep() {
+            return initialStep;
+        }
+
+        public void setInitialStep(String initialStep) {
+            this.initialStep = initialStep;
+        }
+
+        public String getStartEvent() {
+            return startEvent;
+        }
+
+        public void setStartEvent(String startEvent) {
+            this.startEvent = startEvent;
+        }
+
+        public List<String> getEndStates() {
+            return endStates;
+        }
+
+        public void setEndStates(List<String> endStates) {
+            this.endStates = endStates;
+        }
+
         public Map<String, StepConfig> getSteps() {
             return steps;
         }
@@ -35,10 +64,20 @@ public class FormFieldConfig {
     }
 
     public static class StepConfig {
+        // State a process is in while at this step
+        private String state;
         private String title;
         private List<FieldConfig> fields;
         private List<ActionConfig> actions;
 
+        public String getState() {
+            return state;
+        }
+
+        public void setState(String state) {
+            this.state = state;
+        }
+
         public String getTitle() {
             return title;
         }
@@ -146,6 +185,8 @@ public class FormFieldConfig {
         private String id;
         private String label;
         private String event;
+        // Step key or end state the event moves to; actions without a target are handled by the page only
+        private String target;
 
         public String getId() {
             return id;
@@ -170,6 +211,14 @@ public class FormFieldConfig {
         public void setEvent(String event) {
             this.event = event;
         }
+
+        public String getTarget() {
+            return target;
+        }
+
+        public void setTarget(String target) {
+            this.target = target;
+        }
     }
 
     public Map<String, ProcessConfig> getProcesses() {
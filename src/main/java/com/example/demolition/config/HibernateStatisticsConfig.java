@@ -0,0 +1,17 @@
+package com.example.demolition.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class HibernateStatisticsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateStatistics(ProcessMetricsProperties properties) {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS,
+                properties.isEnabled() && properties.isHibernateStatistics());
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.example.demolition.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "process.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Whether the {@code Idempotency-Key} header of start and submit requests is honored.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of recent responses kept in memory; older ones are read from {@code idempotency_keys}.
+     */
+    private long maxEntries = 10_000;
+
+    /**
+     * How long a key is remembered. A retry after that is executed again.
+     */
+    private Duration retention = Duration.ofHours(24);
+
+    /**
+     * How often keys past the retention are deleted from {@code idempotency_keys}.
+     */
+    private Duration cleanupInterval = Duration.ofHours(1);
+
+    /**
+     * How long a duplicate waits for the request it repeats before answering 409.
+     */
+    private Duration acquireTimeout = Duration.ofSeconds(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(long maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+
+    public Duration getCleanupInterval() {
+        return cleanupInterval;
+    }
+
+    public void setCleanupInterval(Duration cleanupInterval) {
+        this.cleanupInterval = cleanupInterval;
+    }
+
+    public Duration getAcquireTimeout() {
+        return acquireTimeout;
+    }
+
+    public void setAcquireTimeout(Duration acquireTimeout) {
+        this.acquireTimeout = acquireTimeout;
+    }
+
+}
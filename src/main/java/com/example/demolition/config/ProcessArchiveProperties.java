@@ -0,0 +1,51 @@
+package com.example.demolition.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "process.archive")
+public class ProcessArchiveProperties {
+
+    /**
+     * Whether the archival job runs at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Processes in an end state of their workflow and untouched for longer than this are moved to the archive.
+     */
+    private Duration retention = Duration.ofDays(30);
+
+    /**
+     * Processes moved per transaction.
+     */
+    private int batchSize = 500;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.example.demolition.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "process.export")
+public class ProcessExportProperties {
+
+    /**
+     * Rows fetched per round trip from the server-side cursor.
+     */
+    private int fetchSize = 1000;
+
+    /**
+     * Cron expression of the scheduled export of processes in an end state of their workflow; {@code -} disables it.
+     */
+    private String cron = "-";
+
+    /**
+     * Directory the scheduled export writes to.
+     */
+    private String directory = "exports";
+
+    /**
+     * Format of the scheduled export, {@code ndjson} or {@code csv}.
+     */
+    private String format = "ndjson";
+
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
+
+    public String getCron() {
+        return cron;
+    }
+
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.example.demolition.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "process.locks")
+public class ProcessLockProperties {
+
+    /**
+     * How long a submit waits for another submit of the same process before answering 409.
+     */
+    private Duration acquireTimeout = Duration.ofSeconds(2);
+
+    public Duration getAcquireTimeout() {
+        return acquireTimeout;
+    }
+
+    public void setAcquireTimeout(Duration acquireTimeout) {
+        this.acquireTimeout = acquireTimeout;
+    }
+
+}
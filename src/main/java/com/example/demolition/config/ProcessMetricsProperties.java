@@ -0,0 +1,37 @@
+package com.example.demolition.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "process.metrics")
+public class ProcessMetricsProperties {
+
+    /**
+     * Record transition and submit phase metrics. When off, recording is a single branch per call.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Have Hibernate count statements, entity loads and queries, exposed as the {@code hibernate_*} meters.
+     * Counting costs on every session, so it is off unless asked for, and only applies when metrics are enabled.
+     */
+    private boolean hibernateStatistics = false;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isHibernateStatistics() {
+        return hibernateStatistics;
+    }
+
+    public void setHibernateStatistics(boolean hibernateStatistics) {
+        this.hibernateStatistics = hibernateStatistics;
+    }
+
+}
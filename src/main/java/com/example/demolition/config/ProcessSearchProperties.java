@@ -0,0 +1,49 @@
+package com.example.demolition.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "process.search")
+public class ProcessSearchProperties {
+
+    /**
+     * Create the jsonb search indexes at startup if they are missing.
+     */
+    private boolean createIndexes = true;
+
+    /**
+     * Page size when the request does not ask for one.
+     */
+    private int defaultPageSize = 50;
+
+    /**
+     * Upper bound for the requested page size.
+     */
+    private int maxPageSize = 500;
+
+    public boolean isCreateIndexes() {
+        return createIndexes;
+    }
+
+    public void setCreateIndexes(boolean createIndexes) {
+        this.createIndexes = createIndexes;
+    }
+
+    public int getDefaultPageSize() {
+        return defaultPageSize;
+    }
+
+    public void setDefaultPageSize(int defaultPageSize) {
+        this.defaultPageSize = defaultPageSize;
+    }
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public void setMaxPageSize(int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+
+}
@@ -1,14 +1,11 @@
 package com.example.demolition.config;
 
-import com.example.demolition.entity.Process;
-import com.example.demolition.repository.ProcessRepository;
 import com.example.demolition.statemachine.ProcessEvents;
 import com.example.demolition.statemachine.ProcessStates;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.statemachine.action.Action;
 import org.springframework.statemachine.config.EnableStateMachineFactory;
 import org.springframework.statemachine.config.EnumStateMachineConfigurerAdapter;
 import org.springframework.statemachine.config.builders.StateMachineConfigurationConfigurer;
@@ -19,7 +16,6 @@ import org.springframework.statemachine.listener.StateMachineListenerAdapter;
 import org.springframework.statemachine.state.State;
 
 import java.util.EnumSet;
-import java.util.Optional;
 
 @Configuration
 @EnableStateMachineFactory
@@ -27,13 +23,8 @@ public class StateMachineConfig extends EnumStateMachineConfigurerAdapter<Proces
 
     private static final Logger logger = LoggerFactory.getLogger(StateMachineConfig.class);
 
-    private final ProcessRepository processRepository;
     // private final JpaStateMachineRepository stateMachineRepository;
 
-    public StateMachineConfig(ProcessRepository processRepository) {
-        this.processRepository = processRepository;
-    }
-
     @Override
     public void configure(StateMachineStateConfigurer<ProcessStates, ProcessEvents> states) throws Exception {
         states
@@ -132,21 +123,6 @@ public class StateMachineConfig extends EnumStateMachineConfigurerAdapter<Proces
         };
     }
 
-    @Bean
-    public Action<ProcessStates, ProcessEvents> saveProcessAction() {
-        return context -> {
-            Long processId = (Long) context.getExtendedState().getVariables().get("processId");
-            if (processId != null) {
-                Optional<Process> processOpt = processRepository.findById(processId);
-                if (processOpt.isPresent()) {
-                    Process process = processOpt.get();
-                    process.setCurrentState(context.getTarget().getId().name());
-                    processRepository.save(process);
-                }
-            }
-        };
-    }
-
 //    @Bean
 //    public StateMachineRuntimePersister<ProcessStates, ProcessEvents, String> stateMachineRuntimePersister() {
 //        return new JpaPersistingStateMachineInterceptor<>(stateMachineRepository);
@@ -0,0 +1,64 @@
+package com.example.demolition.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "statemachine.pool")
+public class StateMachinePoolProperties {
+
+    /**
+     * Upper bound of machines borrowed at the same time.
+     */
+    private int maxSize = 32;
+
+    /**
+     * Machines built at startup and never evicted.
+     */
+    private int minIdle = 4;
+
+    /**
+     * How long a borrower waits for a free machine before giving up.
+     */
+    private Duration maxWait = Duration.ofSeconds(2);
+
+    /**
+     * Idle machines above {@code minIdle} are evicted after this long.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(5);
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    public void setMinIdle(int minIdle) {
+        this.minIdle = minIdle;
+    }
+
+    public Duration getMaxWait() {
+        return maxWait;
+    }
+
+    public void setMaxWait(Duration maxWait) {
+        this.maxWait = maxWait;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.example.demolition.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "process.journal")
+public class TransitionJournalProperties {
+
+    /**
+     * Whether transitions are journaled at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Committed transitions buffered for the writer. When full, callers write their entry themselves.
+     */
+    private int capacity = 10_000;
+
+    /**
+     * Rows per batched insert.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Longest time a committed transition waits in the buffer, unless a full batch is ready earlier.
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+}
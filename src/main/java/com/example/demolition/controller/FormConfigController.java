@@ -0,0 +1,49 @@
+package com.example.demolition.controller;
+
+import com.example.demolition.service.FormConfigRegistry;
+import com.example.demolition.service.FormConfigSnapshot;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/admin/form-config")
+public class FormConfigController {
+
+    private final FormConfigRegistry formConfigs;
+
+    public FormConfigController(FormConfigRegistry formConfigs) {
+        this.formConfigs = formConfigs;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> current() {
+        return ResponseEntity.ok(describe(formConfigs.current()));
+    }
+
+    /**
+     * Reloads {@code process.form-config.location}. A file that does not compile is rejected with 400 and
+     * the current version stays in place.
+     */
+    @PostMapping("/reload")
+    public ResponseEntity<Map<String, Object>> reload() {
+        try {
+            return ResponseEntity.ok(describe(formConfigs.reload()));
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    private static Map<String, Object> describe(FormConfigSnapshot snapshot) {
+        Set<String> processTypes = snapshot.config().getProcesses().keySet();
+        return Map.of("version", snapshot.version(), "processTypes", processTypes);
+    }
+
+}
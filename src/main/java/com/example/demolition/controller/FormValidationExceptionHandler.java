@@ -0,0 +1,26 @@
+package com.example.demolition.controller;
+
+import com.example.demolition.service.FormValidationException;
+import com.example.demolition.service.FormValidator;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.List;
+
+/**
+ * Answers rejected submits with 400 and the failing fields, so the wizard can show them next to the inputs.
+ */
+@RestControllerAdvice
+public class FormValidationExceptionHandler {
+
+    public record ValidationErrorResponse(String step, List<FormValidator.FieldError> errors) {
+    }
+
+    @ExceptionHandler(FormValidationException.class)
+    public ResponseEntity<ValidationErrorResponse> handle(FormValidationException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ValidationErrorResponse(e.getStep(), e.getErrors()));
+    }
+
+}
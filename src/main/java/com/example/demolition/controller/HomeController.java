@@ -1,6 +1,7 @@
 package com.example.demolition.controller;
 
 import com.example.demolition.config.FormFieldConfig;
+import com.example.demolition.service.FormConfigRegistry;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,15 +11,15 @@ import java.util.Map;
 @Controller
 public class HomeController {
 
-    private final FormFieldConfig formFieldConfig;
+    private final FormConfigRegistry formConfigs;
 
-    public HomeController(FormFieldConfig formFieldConfig) {
-        this.formFieldConfig = formFieldConfig;
+    public HomeController(FormConfigRegistry formConfigs) {
+        this.formConfigs = formConfigs;
     }
 
     @GetMapping("/")
     public String home(Model model) {
-        Map<String, FormFieldConfig.ProcessConfig> processes = formFieldConfig.getProcesses();
+        Map<String, FormFieldConfig.ProcessConfig> processes = formConfigs.current().config().getProcesses();
         model.addAttribute("processes", processes);
         return "home"; // Refers to home.html in templates
     }
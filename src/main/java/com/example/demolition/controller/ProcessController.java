@@ -1,46 +1,174 @@
 package com.example.demolition.controller;
 
-import com.example.demolition.entity.Process;
+import com.example.demolition.service.CacheValidators;
+import com.example.demolition.service.IdempotencyKeys;
+import com.example.demolition.service.IdempotentResponse;
+import com.example.demolition.service.ImportReport;
+import com.example.demolition.service.JournalReplay;
+import com.example.demolition.service.ProcessExportService;
+import com.example.demolition.service.ProcessImportService;
+import com.example.demolition.service.ProcessSearchPage;
+import com.example.demolition.service.ProcessSearchService;
 import com.example.demolition.service.ProcessService;
+import com.example.demolition.service.TransitionReplayService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
 import java.util.Map;
+import java.util.zip.CRC32;
 
 @RestController
 @RequestMapping("/api/process")
 public class ProcessController {
 
+    // Clients and proxies may keep form and summary responses, but must revalidate them on every use
+    private static final CacheControl REVALIDATE = CacheControl.noCache();
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final ProcessService processService;
+    private final ProcessImportService processImportService;
+    private final TransitionReplayService transitionReplayService;
+    private final ProcessSearchService processSearchService;
+    private final ProcessExportService processExportService;
+    private final IdempotencyKeys idempotencyKeys;
 
-    public ProcessController(ProcessService processService) {
+    public ProcessController(ProcessService processService, ProcessImportService processImportService,
+                             TransitionReplayService transitionReplayService, ProcessSearchService processSearchService,
+                             ProcessExportService processExportService, IdempotencyKeys idempotencyKeys) {
         this.processService = processService;
+        this.processImportService = processImportService;
+        this.transitionReplayService = transitionReplayService;
+        this.processSearchService = processSearchService;
+        this.processExportService = processExportService;
+        this.idempotencyKeys = idempotencyKeys;
     }
 
-    @PostMapping("/start")
-    public ResponseEntity<Process> startProcess(@RequestBody Map<String, String> request) {
+    /**
+     * Starts a process. A retry with the same {@code Idempotency-Key} gets the process started by the first one.
+     */
+    @PostMapping(value = "/start", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> startProcess(@RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                               @RequestBody Map<String, String> request) {
         String processType = request.get("processType");
-        return ResponseEntity.ok(processService.startProcess(processType));
+        return respond(idempotencyKeys.execute(idempotencyKey, "start " + processType,
+                () -> processService.startProcess(processType)));
+    }
+
+    /**
+     * Bulk import: a JSON array of applications, each with the steps to replay.
+     * Results are reported per application, in request order. If the request stops being valid JSON, the
+     * results read up to that point are returned with the error, as a 400.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportReport> importProcesses(InputStream body) {
+        ImportReport report = processImportService.importApplications(body);
+        return ResponseEntity.status(report.complete() ? HttpStatus.OK : HttpStatus.BAD_REQUEST).body(report);
+    }
+
+    /**
+     * Searches processes, e.g. {@code ?processType=loan_application&loanPurpose=car&loanAmount.min=50000&createdFrom=2025-01-06}.
+     * Pass the returned {@code next} as {@code after} to get the following page.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ProcessSearchPage> search(@RequestParam Map<String, String> filters) {
+        return ResponseEntity.ok(processSearchService.search(filters));
+    }
+
+    /**
+     * Streams all processes of a type in a state, one flat record per process. Written straight to the
+     * response on the request thread, so the export is not bound by the async request timeout.
+     */
+    @GetMapping("/export")
+    public void export(@RequestParam String processType,
+                       @RequestParam(defaultValue = "COMPLETED") String state,
+                       @RequestParam(defaultValue = "ndjson") String format,
+                       HttpServletResponse response) throws IOException {
+        ProcessExportService.Format exportFormat = ProcessExportService.Format.of(format);
+        response.setContentType(exportFormat.contentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(processType + "-" + state.toLowerCase(Locale.ROOT) + "." + exportFormat.extension())
+                .build().toString());
+        processExportService.export(processType, state, exportFormat, response.getOutputStream());
     }
 
-    @GetMapping("/{processId}/form")
-    public ResponseEntity<Map<String, Object>> getFormDefinition(@PathVariable Long processId) {
-        return ResponseEntity.ok(processService.getFormDefinition(processId));
+    @GetMapping(value = "/{processId}/form", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getFormDefinition(@PathVariable Long processId, WebRequest request) {
+        if (isNotModified(processId, request)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(processService.getFormDefinition(processId));
     }
 
-    @PostMapping("/{processId}/submit")
-    public ResponseEntity<Process> submitStep(
+    /**
+     * Submits a step. A retry with the same {@code Idempotency-Key} gets the original response, without a second
+     * form data row or transition.
+     */
+    @PostMapping(value = "/{processId}/submit", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> submitStep(
             @PathVariable Long processId,
             @RequestParam String step,
             @RequestParam String event,
-            @RequestBody(required = false) Map<String, Object> formData) {
-        return ResponseEntity.ok(processService.submitStep(processId, step, event, formData != null ? formData : new HashMap<>()));
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @RequestBody(required = false) byte[] formData) {
+        String fingerprint = "submit " + processId + " " + step + " " + event + " " + checksum(formData);
+        return respond(idempotencyKeys.execute(idempotencyKey, fingerprint,
+                () -> processService.submitStep(processId, step, event, formData)));
     }
 
     @GetMapping("/{processId}/summary")
-    public ResponseEntity<Map<String, Object>> getProcessSummary(@PathVariable Long processId) {
-        return ResponseEntity.ok(processService.getProcessSummary(processId));
+    public ResponseEntity<Map<String, Object>> getProcessSummary(@PathVariable Long processId, WebRequest request) {
+        if (isNotModified(processId, request)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().cacheControl(REVALIDATE).body(processService.getProcessSummary(processId));
+    }
+
+    /**
+     * Checks the current state of a process against its transition journal, and restores it from the journal
+     * only if it is missing or invalid.
+     */
+    @PostMapping("/{processId}/replay")
+    public ResponseEntity<JournalReplay> replayJournal(@PathVariable Long processId) {
+        return ResponseEntity.ok(transitionReplayService.replay(processId));
+    }
+
+    /**
+     * Checks {@code If-None-Match} / {@code If-Modified-Since} against the process version. Also sets the
+     * {@code ETag} and {@code Last-Modified} headers of the response.
+     */
+    private boolean isNotModified(Long processId, WebRequest request) {
+        CacheValidators validators = processService.getCacheValidators(processId);
+        return request.checkNotModified(validators.eTag(), validators.lastModified());
+    }
+
+    private static ResponseEntity<byte[]> respond(IdempotentResponse response) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (response.replayed()) {
+            builder.header(IDEMPOTENT_REPLAYED, "true");
+        }
+        return builder.body(response.body());
+    }
+
+    private static String checksum(byte[] body) {
+        CRC32 crc = new CRC32();
+        if (body != null) {
+            crc.update(body);
+        }
+        return Long.toHexString(crc.getValue());
     }
 
 }
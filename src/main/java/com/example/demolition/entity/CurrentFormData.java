@@ -0,0 +1,73 @@
+package com.example.demolition.entity;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import io.hypersistence.utils.hibernate.type.json.JsonBinaryType;
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.SQLInsert;
+import org.hibernate.annotations.Type;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Latest submitted data per (process, step).
+ * <p>
+ * {@link FormData} keeps the append-only history; this table holds exactly one row per step and is
+ * upserted in place, so reads never have to look through older versions. Persisting a new instance
+ * issues the upsert, which keeps it in the same JDBC batch as the other inserts of the request.
+ */
+@Entity
+@Table(name = "form_data_current")
+@SQLInsert(sql = "insert into form_data_current (form_data_json, process_id, step) values (?, ?, ?) " +
+        "on conflict (process_id, step) do update set form_data_json = excluded.form_data_json")
+public class CurrentFormData implements Persistable<CurrentFormDataId> {
+
+    @EmbeddedId
+    private CurrentFormDataId id;
+
+    @Type(JsonBinaryType.class)
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "formDataJson", columnDefinition = "jsonb")
+    private String formDataJson;  // Same text as the FormData row it was copied from
+
+    @Transient
+    private boolean isNew = true;
+
+    protected CurrentFormData() {
+    }
+
+    public CurrentFormData(Long processId, String step, String formDataJson) {
+        this.id = new CurrentFormDataId(processId, step);
+        this.formDataJson = formDataJson;
+    }
+
+    @Override
+    public CurrentFormDataId getId() {
+        return id;
+    }
+
+    public String getStep() {
+        return id.getStep();
+    }
+
+    @JsonRawValue
+    public String getFormDataJson() {
+        return formDataJson;
+    }
+
+    public void setFormDataJson(String formDataJson) {
+        this.formDataJson = formDataJson;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+}
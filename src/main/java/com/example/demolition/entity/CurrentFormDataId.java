@@ -0,0 +1,49 @@
+package com.example.demolition.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class CurrentFormDataId implements Serializable {
+
+    @Column(name = "process_id")
+    private Long processId;
+
+    private String step;
+
+    protected CurrentFormDataId() {
+    }
+
+    public CurrentFormDataId(Long processId, String step) {
+        this.processId = processId;
+        this.step = step;
+    }
+
+    public Long getProcessId() {
+        return processId;
+    }
+
+    public String getStep() {
+        return step;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CurrentFormDataId that)) {
+            return false;
+        }
+        return Objects.equals(processId, that.processId) && Objects.equals(step, that.step);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(processId, step);
+    }
+
+}
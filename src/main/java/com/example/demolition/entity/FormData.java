@@ -1,7 +1,7 @@
 package com.example.demolition.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.annotation.JsonRawValue;
 import io.hypersistence.utils.hibernate.type.json.JsonBinaryType;
 import jakarta.persistence.*;
 import org.hibernate.annotations.JdbcTypeCode;
@@ -9,11 +9,14 @@ import org.hibernate.annotations.Type;
 import org.hibernate.type.SqlTypes;
 
 @Entity
-@Table(name = "form_data")
+@Table(name = "form_data", indexes = {
+        @Index(name = "idx_form_data_process_step_id", columnList = "process_id, step, id")
+})
 public class FormData {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "form_data_seq")
+    @SequenceGenerator(name = "form_data_seq", sequenceName = "form_data_seq", allocationSize = 50)
     private Long id;
 
     private String step;
@@ -21,13 +24,17 @@ public class FormData {
     @Type(JsonBinaryType.class)
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "formDataJson", columnDefinition = "jsonb")
-    private JsonNode formDataJson;
+    private String formDataJson;  // JSON text as submitted, parsed only by readers that need a tree
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "process_id")
     @JsonIgnore  // This prevents infinite recursion
     private Process process;
 
+    public Long getId() {
+        return id;
+    }
+
     public String getStep() {
         return step;
     }
@@ -36,11 +43,12 @@ public class FormData {
         this.step = step;
     }
 
-    public JsonNode getFormDataJson() {
+    @JsonRawValue
+    public String getFormDataJson() {
         return formDataJson;
     }
 
-    public void setFormDataJson(JsonNode formDataJson) {
+    public void setFormDataJson(String formDataJson) {
         this.formDataJson = formDataJson;
     }
 
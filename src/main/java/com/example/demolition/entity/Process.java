@@ -1,6 +1,8 @@
 package com.example.demolition.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -9,18 +11,27 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "processes")
+@Table(name = "processes", indexes = {
+        @Index(name = "idx_processes_created_at", columnList = "created_at, id")
+})
 public class Process {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "processes_seq")
+    @SequenceGenerator(name = "processes_seq", sequenceName = "processes_seq", allocationSize = 50)
     private Long id;
 
     private String processType;
 
     private String currentState;
 
+    // Every state change is a conditional UPDATE ... WHERE version = ?
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     @OneToMany(mappedBy = "process", cascade = CascadeType.ALL, orphanRemoval = true)
+    @JsonIgnore  // Never load the whole history just to render a response
     private List<FormData> formDataList = new ArrayList<>();
 
     @CreationTimestamp
@@ -29,6 +40,9 @@ public class Process {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    // Form configuration snapshot the process was started with
+    private String configVersion;
+
     public Long getId() {
         return id;
     }
@@ -53,6 +67,10 @@ public class Process {
         this.currentState = currentState;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public List<FormData> getFormDataList() {
         return formDataList;
     }
@@ -77,4 +95,12 @@ public class Process {
         this.updatedAt = updatedAt;
     }
 
+    public String getConfigVersion() {
+        return configVersion;
+    }
+
+    public void setConfigVersion(String configVersion) {
+        this.configVersion = configVersion;
+    }
+
 }
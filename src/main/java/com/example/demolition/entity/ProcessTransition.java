@@ -0,0 +1,66 @@
+package com.example.demolition.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * One journaled state transition. Rows are only inserted in batches by {@code TransitionJournal}.
+ */
+@Entity
+@Table(name = "process_transitions", indexes = {
+        @Index(name = "idx_process_transitions_process_id", columnList = "process_id, created_at, id")
+})
+public class ProcessTransition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "process_id", nullable = false)
+    private Long processId;
+
+    @Column(nullable = false)
+    private String fromState;
+
+    @Column(nullable = false)
+    private String toState;
+
+    @Column(nullable = false)
+    private String event;
+
+    // History row submitted with the event, if any
+    private Long formDataId;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getProcessId() {
+        return processId;
+    }
+
+    public String getFromState() {
+        return fromState;
+    }
+
+    public String getToState() {
+        return toState;
+    }
+
+    public String getEvent() {
+        return event;
+    }
+
+    public Long getFormDataId() {
+        return formDataId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.example.demolition.repository;
+
+import com.example.demolition.entity.CurrentFormData;
+import com.example.demolition.entity.CurrentFormDataId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CurrentFormDataRepository extends JpaRepository<CurrentFormData, CurrentFormDataId> {
+
+    List<CurrentFormData> findByIdProcessId(Long processId);
+
+}
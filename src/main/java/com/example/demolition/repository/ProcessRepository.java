@@ -1,8 +1,16 @@
 package com.example.demolition.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface ProcessRepository extends JpaRepository<com.example.demolition.entity.Process, Long> {
+
+    @Query("SELECT new com.example.demolition.repository.ProcessVersion(p.id, p.version, p.updatedAt, p.configVersion) FROM Process p WHERE p.id = :id")
+    Optional<ProcessVersion> findVersionById(@Param("id") Long id);
+
 }
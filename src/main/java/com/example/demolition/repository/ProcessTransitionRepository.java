@@ -0,0 +1,14 @@
+package com.example.demolition.repository;
+
+import com.example.demolition.entity.ProcessTransition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProcessTransitionRepository extends JpaRepository<ProcessTransition, Long> {
+
+    List<ProcessTransition> findByProcessIdOrderByCreatedAtAscIdAsc(Long processId);
+
+}
@@ -0,0 +1,9 @@
+package com.example.demolition.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Version columns of a process, read without loading the entity.
+ */
+public record ProcessVersion(Long processId, Long version, LocalDateTime updatedAt, String configVersion) {
+}
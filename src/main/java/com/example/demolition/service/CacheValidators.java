@@ -0,0 +1,21 @@
+package com.example.demolition.service;
+
+import com.example.demolition.repository.ProcessVersion;
+
+import java.time.ZoneId;
+
+/**
+ * HTTP validators for the responses of one process: a strong ETag from the process version and the form
+ * configuration, and the last modification time in epoch millis ({@code -1} if unknown).
+ */
+public record CacheValidators(String eTag, long lastModified) {
+
+    static CacheValidators of(ProcessVersion version, String configVersion) {
+        String eTag = "\"" + version.processId() + "-" + version.version() + "-" + configVersion + "\"";
+        long lastModified = version.updatedAt() != null
+                ? version.updatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
+        return new CacheValidators(eTag, lastModified);
+    }
+
+}
@@ -0,0 +1,234 @@
+package com.example.demolition.service;
+
+import com.example.demolition.config.FormConfigProperties;
+import com.example.demolition.config.FormFieldConfig;
+import com.example.demolition.statemachine.ProcessTransitionTable;
+import com.example.demolition.statemachine.WorkflowRegistry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+
+/**
+ * Versioned, immutable snapshots of the form configuration.
+ * <p>
+ * New processes use the {@link #current()} snapshot and record its version; later requests of a process
+ * use the snapshot it was started with, so a wizard in flight keeps its steps, fields and transitions
+ * while new ones pick up a change at once. Reads are a plain volatile read plus a map lookup.
+ * <p>
+ * With {@code process.form-config.location} set, that file replaces the {@code form} block of
+ * application.yml, is watched for changes and can be reloaded through {@code POST /api/admin/form-config/reload}.
+ * A configuration that does not compile is rejected and the current snapshot stays in place.
+ * <p>
+ * Every version is written to {@link FormConfigStore} before it becomes current. A process whose version is
+ * not loaded on this instance, because another instance or an earlier run installed it, gets that version
+ * compiled from the store on first use. Only versions that were never stored, from before the store
+ * existed, fall back to the current snapshot.
+ */
+@Component
+public class FormConfigRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(FormConfigRegistry.class);
+
+    private final ObjectMapper objectMapper;
+    private final ProcessTransitionTable transitionTable;
+    private final FormConfigProperties properties;
+    private final FormConfigStore store;
+
+    private final AtomicReference<FormConfigSnapshot> current = new AtomicReference<>();
+    private final Map<String, FormConfigSnapshot> byVersion = new ConcurrentHashMap<>();
+    private final Set<String> unknownVersions = ConcurrentHashMap.newKeySet();
+    private volatile long lastModified;
+    private volatile boolean stored;
+
+    public FormConfigRegistry(FormFieldConfig formFieldConfig, ObjectMapper objectMapper,
+                              ProcessTransitionTable transitionTable, FormConfigProperties properties,
+                              FormConfigStore store) {
+        this.objectMapper = objectMapper;
+        this.transitionTable = transitionTable;
+        this.properties = properties;
+        this.store = store;
+        install(hasFile() ? load() : plainCopy(formFieldConfig));
+    }
+
+    /**
+     * Stores the snapshot installed at construction and every later one, before any request can record it.
+     */
+    @PostConstruct
+    public synchronized void storeSnapshots() {
+        store.createSchema();
+        byVersion.forEach((version, snapshot) -> store.save(version, snapshot.config()));
+        stored = true;
+    }
+
+    /**
+     * Snapshot for new processes.
+     */
+    public FormConfigSnapshot current() {
+        return current.get();
+    }
+
+    /**
+     * Snapshot a process was started with, loaded from {@link FormConfigStore} if this instance does not have
+     * it yet, or the current one if that version was never stored.
+     */
+    public FormConfigSnapshot forVersion(String version) {
+        if (version == null) {
+            return current.get();
+        }
+        FormConfigSnapshot snapshot = byVersion.get(version);
+        if (snapshot == null && !unknownVersions.contains(version)) {
+            snapshot = loadVersion(version);
+        }
+        return snapshot != null ? snapshot : current.get();
+    }
+
+    /**
+     * @return the only snapshot if the configuration was never changed, so every process uses it, else {@code null}
+     */
+    public FormConfigSnapshot single() {
+        return byVersion.size() == 1 ? current.get() : null;
+    }
+
+    /**
+     * Reloads the configuration file and makes it current.
+     *
+     * @throws IllegalStateException if no file is configured or its content does not compile
+     */
+    public synchronized FormConfigSnapshot reload() {
+        if (!hasFile()) {
+            throw new IllegalStateException("No form configuration file configured (process.form-config.location)");
+        }
+        return install(load());
+    }
+
+    @Scheduled(fixedDelayString = "${process.form-config.watch-interval:PT10S}")
+    public void watch() {
+        if (!hasFile()) {
+            return;
+        }
+        try {
+            if (Files.getLastModifiedTime(file()).toMillis() != lastModified) {
+                reload();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("❌ Form configuration {} not reloaded, keeping version {}", properties.getLocation(), current().version(), e);
+        }
+    }
+
+    /**
+     * Compiles {@code config} and makes it current. The compiled parts are built before the swap, so
+     * readers see either the old or the new snapshot, never a mix.
+     */
+    synchronized FormConfigSnapshot install(FormFieldConfig config) {
+        String version = checksum(config);
+        FormConfigSnapshot snapshot = byVersion.get(version);
+        if (snapshot == null) {
+            snapshot = compile(version, config);
+            if (stored) {
+                store.save(version, config);
+            }
+            byVersion.put(version, snapshot);
+            unknownVersions.remove(version);
+        }
+        FormConfigSnapshot previous = current.getAndSet(snapshot);
+        if (previous == null || !previous.version().equals(version)) {
+            logger.info("📋 Form configuration version {} is now current (process types {})", version, config.getProcesses().keySet());
+        }
+        return snapshot;
+    }
+
+    private synchronized FormConfigSnapshot loadVersion(String version) {
+        FormConfigSnapshot snapshot = byVersion.get(version);
+        if (snapshot != null || unknownVersions.contains(version) || !stored) {
+            return snapshot;
+        }
+        FormFieldConfig config = store.find(version).orElse(null);
+        if (config != null) {
+            try {
+                snapshot = compile(version, config);
+            } catch (RuntimeException e) {
+                logger.error("❌ Stored form configuration version {} no longer compiles, its processes use version {}",
+                        version, current().version(), e);
+            }
+        }
+        if (snapshot == null) {
+            if (config == null) {
+                logger.warn("⚠️ Form configuration version {} was never stored, its processes use version {}", version, current().version());
+            }
+            unknownVersions.add(version);
+            return null;
+        }
+        byVersion.put(version, snapshot);
+        logger.info("📋 Loaded form configuration version {} from the store (process types {})", version, config.getProcesses().keySet());
+        return snapshot;
+    }
+
+    /**
+     * The bound {@code form} bean is a CGLIB-enhanced {@code @Configuration} class, which Jackson cannot
+     * serialize for the checksum and the store.
+     */
+    private static FormFieldConfig plainCopy(FormFieldConfig formFieldConfig) {
+        FormFieldConfig config = new FormFieldConfig();
+        config.setProcesses(formFieldConfig.getProcesses());
+        return config;
+    }
+
+    private FormConfigSnapshot compile(String version, FormFieldConfig config) {
+        return new FormConfigSnapshot(version, config, new FormDefinitionCache(config, objectMapper),
+                new FormValidator(config), new WorkflowRegistry(config, transitionTable));
+    }
+
+    private FormFieldConfig load() {
+        try {
+            Path file = file();
+            // Taken before reading, so a broken file is reported once and not on every check
+            lastModified = Files.getLastModifiedTime(file).toMillis();
+            List<PropertySource<?>> sources = new YamlPropertySourceLoader().load(file.toString(), new FileSystemResource(file));
+            return new Binder(ConfigurationPropertySources.from(sources))
+                    .bind("form", FormFieldConfig.class)
+                    .orElseThrow(() -> new IllegalStateException("No form block in " + file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read form configuration " + properties.getLocation(), e);
+        }
+    }
+
+    private String checksum(FormFieldConfig config) {
+        try {
+            CRC32 crc = new CRC32();
+            crc.update(objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS).writeValueAsBytes(config));
+            return Long.toHexString(crc.getValue());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize form configuration", e);
+        }
+    }
+
+    private boolean hasFile() {
+        return properties.getLocation() != null && !properties.getLocation().isBlank();
+    }
+
+    private Path file() {
+        return Path.of(properties.getLocation());
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.example.demolition.service;
+
+import com.example.demolition.config.FormFieldConfig;
+import com.example.demolition.statemachine.WorkflowRegistry;
+
+/**
+ * One version of the form configuration together with everything compiled from it. Never modified after
+ * it is built; a reload builds a new snapshot.
+ *
+ * @param version checksum of the configuration, equal on every instance that loaded the same content
+ */
+public record FormConfigSnapshot(String version, FormFieldConfig config, FormDefinitionCache definitions,
+                                 FormValidator validator, WorkflowRegistry workflows) {
+}
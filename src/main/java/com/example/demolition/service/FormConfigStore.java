@@ -0,0 +1,63 @@
+package com.example.demolition.service;
+
+import com.example.demolition.config.FormFieldConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Every form configuration version ever made current, keyed by its checksum.
+ * <p>
+ * Rows are only inserted, never changed, so a process started with a version can be served by that version
+ * on any instance and after any restart, whichever configuration the instance itself loaded.
+ */
+@Component
+public class FormConfigStore {
+
+    private static final String SCHEMA =
+            "CREATE TABLE IF NOT EXISTS form_config_snapshots (" +
+            "  version varchar(255) PRIMARY KEY, content text NOT NULL, created_at timestamp(6) NOT NULL DEFAULT now()" +
+            ")";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public FormConfigStore(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public void createSchema() {
+        jdbcTemplate.execute(SCHEMA);
+    }
+
+    /**
+     * Stores {@code config} under {@code version} unless another instance already did.
+     */
+    public void save(String version, FormFieldConfig config) {
+        try {
+            jdbcTemplate.update("INSERT INTO form_config_snapshots (version, content) VALUES (?, ?) ON CONFLICT (version) DO NOTHING",
+                    version, objectMapper.writeValueAsString(config));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize form configuration " + version, e);
+        }
+    }
+
+    public Optional<FormFieldConfig> find(String version) {
+        List<String> content = jdbcTemplate.queryForList(
+                "SELECT content FROM form_config_snapshots WHERE version = ?", String.class, version);
+        if (content.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(content.get(0), FormFieldConfig.class));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read stored form configuration " + version, e);
+        }
+    }
+
+}
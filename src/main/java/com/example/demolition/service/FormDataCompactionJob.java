@@ -0,0 +1,65 @@
+package com.example.demolition.service;
+
+import com.example.demolition.config.FormDataHistoryProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Prunes the append-only {@code form_data} history beyond the configured depth per (process, step).
+ * <p>
+ * Processes are walked in id order, one chunk per statement, so every delete runs in its own short
+ * transaction and only touches the rows of that chunk through the (process_id, step, id) index.
+ * The latest values live in {@code form_data_current} and are never affected.
+ */
+@Component
+public class FormDataCompactionJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(FormDataCompactionJob.class);
+
+    private static final String NEXT_CHUNK_SQL =
+            "SELECT DISTINCT process_id FROM form_data WHERE process_id > ? ORDER BY process_id LIMIT ?";
+
+    private static final String PRUNE_CHUNK_SQL =
+            "DELETE FROM form_data f USING (" +
+            "  SELECT id, row_number() OVER (PARTITION BY process_id, step ORDER BY id DESC) AS rn" +
+            "  FROM form_data WHERE process_id BETWEEN ? AND ?" +
+            ") ranked WHERE f.id = ranked.id AND ranked.rn > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FormDataHistoryProperties properties;
+
+    public FormDataCompactionJob(JdbcTemplate jdbcTemplate, FormDataHistoryProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${form-data.history.compaction-interval:PT10M}",
+            initialDelayString = "${form-data.history.compaction-interval:PT10M}")
+    public void compact() {
+        if (!properties.isCompactionEnabled()) {
+            return;
+        }
+
+        long lastProcessId = 0;
+        int pruned = 0;
+        while (true) {
+            List<Long> chunk = jdbcTemplate.queryForList(NEXT_CHUNK_SQL, Long.class, lastProcessId, properties.getBatchSize());
+            if (chunk.isEmpty()) {
+                break;
+            }
+            long first = chunk.get(0);
+            lastProcessId = chunk.get(chunk.size() - 1);
+            pruned += jdbcTemplate.update(PRUNE_CHUNK_SQL, first, lastProcessId, properties.getRetainDepth());
+        }
+
+        if (pruned > 0) {
+            logger.info("Compacted form_data history: {} rows pruned", pruned);
+        }
+    }
+
+}
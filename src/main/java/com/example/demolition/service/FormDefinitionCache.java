@@ -0,0 +1,103 @@
+package com.example.demolition.service;
+
+import com.example.demolition.config.FormFieldConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Form definitions per (processType, stepKey) of one {@link FormConfigSnapshot}, serialized to UTF-8 JSON once.
+ * <p>
+ * The static part of a step (title, fields, actions) never changes at runtime, so only the per-process
+ * part (id, state and saved data) is written around the cached bytes on each request.
+ */
+public class FormDefinitionCache {
+
+    private static final byte[] PROCESS_ID = "{\"processId\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CURRENT_STATE = ",\"currentState\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] DATA = ",\"data\":".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, Map<String, byte[]>> definitions;
+
+    public FormDefinitionCache(FormFieldConfig formFieldConfig, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+
+        Map<String, Map<String, byte[]>> byProcessType = new HashMap<>();
+        formFieldConfig.getProcesses().forEach((processType, processConfig) -> {
+            Map<String, byte[]> bySteps = new HashMap<>();
+            processConfig.getSteps().forEach((stepKey, stepConfig) ->
+                    bySteps.put(stepKey, encode(processType, stepKey, stepConfig)));
+            byProcessType.put(processType, Map.copyOf(bySteps));
+        });
+        this.definitions = Map.copyOf(byProcessType);
+    }
+
+    /**
+     * Writes the full form definition response for one process.
+     *
+     * @param data previously saved JSON data for the step, copied as is, or {@code null}
+     */
+    public byte[] render(Long processId, String currentState, String processType, String stepKey, String data) {
+        Map<String, byte[]> steps = definitions.get(processType);
+        if (steps == null) {
+            throw new RuntimeException("Process type not configured: " + processType);
+        }
+        byte[] definition = steps.get(stepKey);
+        if (definition == null) {
+            throw new RuntimeException("Step not configured: " + stepKey);
+        }
+
+        byte[] state = quote(currentState);
+        byte[] json = data != null ? data.getBytes(StandardCharsets.UTF_8) : null;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(definition.length + 128 + (json != null ? json.length : 0));
+        out.writeBytes(PROCESS_ID);
+        out.writeBytes(Long.toString(processId).getBytes(StandardCharsets.US_ASCII));
+        out.writeBytes(CURRENT_STATE);
+        out.writeBytes(state);
+        out.write(',');
+        out.writeBytes(definition);
+        if (json != null) {
+            out.writeBytes(DATA);
+            out.writeBytes(json);
+        }
+        out.write('}');
+        return out.toByteArray();
+    }
+
+    /**
+     * The state comes from the database, so it is written as a JSON string rather than copied between quotes.
+     */
+    private byte[] quote(String currentState) {
+        try {
+            return objectMapper.writeValueAsBytes(currentState);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize state " + currentState, e);
+        }
+    }
+
+    /**
+     * Encodes the static members of a step, without the enclosing braces.
+     */
+    private byte[] encode(String processType, String stepKey, FormFieldConfig.StepConfig stepConfig) {
+        Map<String, Object> definition = new LinkedHashMap<>();
+        definition.put("processType", processType);
+        definition.put("step", stepKey);
+        definition.put("title", stepConfig.getTitle());
+        definition.put("fields", stepConfig.getFields());
+        definition.put("actions", stepConfig.getActions());
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(definition);
+            return Arrays.copyOfRange(json, 1, json.length - 1);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize form definition for " + processType + "/" + stepKey, e);
+        }
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.example.demolition.service;
+
+import java.util.List;
+
+/**
+ * A submitted step did not match its field configuration. Nothing was written.
+ */
+public class FormValidationException extends RuntimeException {
+
+    private final String step;
+    private final List<FormValidator.FieldError> errors;
+
+    public FormValidationException(String step, List<FormValidator.FieldError> errors) {
+        super("Invalid data for step " + step + ": " + errors);
+        this.step = step;
+        this.errors = List.copyOf(errors);
+    }
+
+    public String getStep() {
+        return step;
+    }
+
+    public List<FormValidator.FieldError> getErrors() {
+        return errors;
+    }
+
+}
@@ -0,0 +1,322 @@
+package com.example.demolition.service;
+
+import com.example.demolition.config.FormFieldConfig;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Server-side validation of submitted steps, compiled once per {@link FormConfigSnapshot} from its {@link FormFieldConfig}.
+ * <p>
+ * Every step gets an array of field checks with their option sets precomputed. The submitted bytes are
+ * checked in one streaming parse: values are inspected in the parser's character buffer, without
+ * building a tree or parsing into numbers or dates, and the error list is only created for the first error.
+ */
+public class FormValidator {
+
+    public record FieldError(String field, String message) {
+    }
+
+    private enum FieldType {
+        TEXT, EMAIL, DATE, NUMBER, SELECT;
+
+        static FieldType of(String type) {
+            if (type == null) {
+                return TEXT;
+            }
+            return switch (type) {
+                case "email" -> EMAIL;
+                case "date" -> DATE;
+                case "number" -> NUMBER;
+                case "select" -> SELECT;
+                default -> TEXT;
+            };
+        }
+    }
+
+    private record FieldCheck(String id, int index, FieldType type, Set<String> options) {
+    }
+
+    /**
+     * Checks of one step, by field id for lookups and as an array for the required-field pass. Bit
+     * {@code i} of {@code required} is set if field {@code i} is required.
+     */
+    private record StepValidator(FieldCheck[] fields, Map<String, FieldCheck> byId, long required) {
+    }
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final Map<String, Map<String, StepValidator>> byProcessType;
+    // Step keys defined by exactly one process type, so they can be validated without loading the process
+    private final Map<String, StepValidator> byUniqueStep;
+
+    public FormValidator(FormFieldConfig formFieldConfig) {
+        Map<String, Map<String, StepValidator>> processTypes = new HashMap<>();
+        Map<String, List<StepValidator>> steps = new HashMap<>();
+        formFieldConfig.getProcesses().forEach((processType, processConfig) -> {
+            Map<String, StepValidator> validators = new HashMap<>();
+            processConfig.getSteps().forEach((stepKey, stepConfig) -> {
+                StepValidator validator = compile(stepConfig);
+                validators.put(stepKey, validator);
+                steps.computeIfAbsent(stepKey, key -> new ArrayList<>()).add(validator);
+            });
+            processTypes.put(processType, Map.copyOf(validators));
+        });
+        this.byProcessType = Map.copyOf(processTypes);
+
+        Map<String, StepValidator> unique = new HashMap<>();
+        steps.forEach((stepKey, validators) -> {
+            if (validators.size() == 1) {
+                unique.put(stepKey, validators.get(0));
+            }
+        });
+        this.byUniqueStep = Map.copyOf(unique);
+    }
+
+    /**
+     * @return true if {@code step} belongs to a single process type and can be validated by step alone
+     */
+    public boolean canValidate(String step) {
+        return byUniqueStep.containsKey(step);
+    }
+
+    /**
+     * Validates a step whose key belongs to a single process type, see {@link #canValidate}.
+     *
+     * @param json the submitted JSON object, as UTF-8
+     * @throws FormValidationException if the data is not a JSON object matching the step configuration
+     */
+    public void validate(String step, byte[] json) {
+        validate(step, byUniqueStep.get(step), json);
+    }
+
+    /**
+     * @param json the submitted JSON object, as UTF-8
+     * @throws FormValidationException if the data is not a JSON object matching the step configuration
+     */
+    public void validate(String processType, String step, byte[] json) {
+        Map<String, StepValidator> steps = byProcessType.get(processType);
+        validate(step, steps != null ? steps.get(step) : null, json);
+    }
+
+    /**
+     * Checks every member in a single pass over the parser's token stream, without building a tree.
+     */
+    private static void validate(String step, StepValidator validator, byte[] json) {
+        if (validator == null) {
+            throw new FormValidationException(step, List.of(new FieldError(null, "Step not configured")));
+        }
+
+        List<FieldError> errors = null;
+        long present = 0;
+        try (JsonParser parser = JSON.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new FormValidationException(step, List.of(new FieldError(null, "must be a JSON object")));
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken token = parser.nextToken();
+                FieldCheck field = validator.byId().get(name);
+                if (token.isStructStart()) {
+                    parser.skipChildren();
+                }
+                if (field == null) {
+                    errors = add(errors, name, "is not a field of this step");
+                } else if (token.isStructStart()) {
+                    errors = add(errors, field.id(), "must be a single value");
+                } else if (!isMissing(token, parser)) {
+                    present |= 1L << field.index();
+                    String message = check(field, token, parser);
+                    if (message != null) {
+                        errors = add(errors, field.id(), message);
+                    }
+                }
+            }
+            if (parser.nextToken() != null) {
+                throw new FormValidationException(step, List.of(new FieldError(null, "unexpected content after the JSON object")));
+            }
+        } catch (IOException e) {
+            throw new FormValidationException(step, List.of(new FieldError(null, "is not valid JSON")));
+        }
+
+        long missing = validator.required() & ~present;
+        if (missing != 0) {
+            for (FieldCheck field : validator.fields()) {
+                if ((missing & 1L << field.index()) != 0) {
+                    errors = add(errors, field.id(), "is required");
+                }
+            }
+        }
+
+        if (errors != null) {
+            throw new FormValidationException(step, errors);
+        }
+    }
+
+    /**
+     * @return an error message, or {@code null} if the value is valid
+     */
+    private static String check(FieldCheck field, JsonToken token, JsonParser parser) throws IOException {
+        if (token != JsonToken.VALUE_STRING) {
+            return switch (field.type()) {
+                case TEXT -> null;
+                case NUMBER -> token.isNumeric() ? null : "must be a number";
+                case SELECT -> field.options().contains(parser.getText()) ? null : "is not one of " + field.options();
+                default -> "must be text";
+            };
+        }
+
+        char[] text = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+        return switch (field.type()) {
+            case TEXT -> null;
+            case NUMBER -> isNumber(text, offset, length) ? null : "must be a number";
+            case DATE -> isIsoDate(text, offset, length) ? null : "must be a date (yyyy-MM-dd)";
+            case EMAIL -> isEmail(text, offset, length) ? null : "must be an email address";
+            case SELECT -> field.options().contains(parser.getText()) ? null : "is not one of " + field.options();
+        };
+    }
+
+    private static StepValidator compile(FormFieldConfig.StepConfig stepConfig) {
+        List<FormFieldConfig.FieldConfig> fields = stepConfig.getFields() != null ? stepConfig.getFields() : List.of();
+        if (fields.size() > Long.SIZE) {
+            throw new IllegalStateException("Steps can have at most " + Long.SIZE + " fields");
+        }
+        FieldCheck[] checks = new FieldCheck[fields.size()];
+        Map<String, FieldCheck> byId = new HashMap<>();
+        long required = 0;
+        for (int i = 0; i < checks.length; i++) {
+            FormFieldConfig.FieldConfig field = fields.get(i);
+            FieldType type = FieldType.of(field.getType());
+            Set<String> options = type == FieldType.SELECT && field.getOptions() != null
+                    ? field.getOptions().stream().map(FormFieldConfig.OptionConfig::getValue).collect(Collectors.toUnmodifiableSet())
+                    : Set.of();
+            checks[i] = new FieldCheck(field.getId(), i, type, options);
+            byId.put(field.getId(), checks[i]);
+            if (field.isRequired()) {
+                required |= 1L << i;
+            }
+        }
+        return new StepValidator(checks, Map.copyOf(byId), required);
+    }
+
+    private static List<FieldError> add(List<FieldError> errors, String field, String message) {
+        List<FieldError> list = errors != null ? errors : new ArrayList<>(4);
+        list.add(new FieldError(field, message));
+        return list;
+    }
+
+    /**
+     * {@code null} and blank strings count as not submitted.
+     */
+    private static boolean isMissing(JsonToken token, JsonParser parser) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return true;
+        }
+        if (token != JsonToken.VALUE_STRING) {
+            return false;
+        }
+        char[] text = parser.getTextCharacters();
+        int end = parser.getTextOffset() + parser.getTextLength();
+        for (int i = parser.getTextOffset(); i < end; i++) {
+            if (!Character.isWhitespace(text[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Optional sign, digits, optional fraction. No exponent, no grouping.
+     */
+    static boolean isNumber(char[] text, int offset, int length) {
+        int i = offset;
+        int end = offset + length;
+        if (i < end && (text[i] == '-' || text[i] == '+')) {
+            i++;
+        }
+        int digits = 0;
+        boolean dot = false;
+        for (; i < end; i++) {
+            char c = text[i];
+            if (c >= '0' && c <= '9') {
+                digits++;
+            } else if (c == '.' && !dot) {
+                dot = true;
+            } else {
+                return false;
+            }
+        }
+        return digits > 0;
+    }
+
+    /**
+     * {@code yyyy-MM-dd} with a day that exists in that month.
+     */
+    static boolean isIsoDate(char[] text, int offset, int length) {
+        if (length != 10 || text[offset + 4] != '-' || text[offset + 7] != '-') {
+            return false;
+        }
+        int year = digits(text, offset, offset + 4);
+        int month = digits(text, offset + 5, offset + 7);
+        int day = digits(text, offset + 8, offset + 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1) {
+            return false;
+        }
+        int daysInMonth = switch (month) {
+            case 2 -> (year % 4 == 0 && year % 100 != 0) || year % 400 == 0 ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+        return day <= daysInMonth;
+    }
+
+    /**
+     * One {@code @} with a non-empty local part and a dotted domain, no whitespace.
+     */
+    static boolean isEmail(char[] text, int offset, int length) {
+        int at = -1;
+        int lastDot = -1;
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            char c = text[i];
+            if (Character.isWhitespace(c)) {
+                return false;
+            }
+            if (c == '@') {
+                if (at >= 0) {
+                    return false;
+                }
+                at = i;
+            } else if (c == '.' && at >= 0) {
+                lastDot = i;
+            }
+        }
+        return at > offset && lastDot > at + 1 && lastDot < end - 1;
+    }
+
+    /**
+     * @return the value of the decimal digits in {@code [from, to)}, or -1 if one is not a digit
+     */
+    private static int digits(char[] text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text[i];
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.example.demolition.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves the id sequences past ids generated before they existed.
+ * <p>
+ * {@code processes} and {@code form_data} used identity columns before they switched to pooled sequences.
+ * {@code ddl-auto: update} creates the sequences starting at 1, so on a database with identity-generated
+ * rows the first inserts would reuse existing ids. Runs after Hibernate has updated the schema and before
+ * the server accepts requests. A sequence is only moved while the table holds ids above its last value,
+ * which never happens once it has been aligned, so instances starting later cannot set it back.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequenceInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdSequenceInitializer.class);
+
+    // Same as the allocationSize of the @SequenceGenerator of each entity
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final List<IdSequence> SEQUENCES = List.of(
+            new IdSequence("processes_seq", "processes"),
+            new IdSequence("form_data_seq", "form_data"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignSequences() {
+        for (IdSequence sequence : SEQUENCES) {
+            // With the pooled optimizer a sequence value is the upper end of its block, so one more block
+            // above the highest id keeps every id handed out next above it
+            List<Long> aligned = jdbcTemplate.queryForList(
+                    "SELECT setval('" + sequence.name() + "', m.max_id + " + ALLOCATION_SIZE + ") " +
+                    "FROM (SELECT MAX(id) AS max_id FROM " + sequence.table() + ") m, " + sequence.name() + " s " +
+                    "WHERE m.max_id > s.last_value", Long.class);
+            if (!aligned.isEmpty()) {
+                logger.info("Moved {} to {}, past the existing ids of {}", sequence.name(), aligned.get(0), sequence.table());
+            }
+        }
+    }
+
+    private record IdSequence(String name, String table) {
+    }
+
+}
@@ -0,0 +1,204 @@
+package com.example.demolition.service;
+
+import com.example.demolition.config.IdempotencyProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Responses of start and submit requests, remembered by their {@code Idempotency-Key}.
+ * <p>
+ * A retry with a known key is answered with the stored response: from memory for recent keys, otherwise
+ * with a single primary key read of {@code idempotency_keys}, in both cases without touching the state
+ * machine or opening a write transaction. The request running for a key is marked in flight; only duplicates
+ * that arrive while it runs wait for its outcome, requests with other keys never do. Only successful responses
+ * are stored, so a request that failed can be retried with the same key, and a duplicate waiting for it runs
+ * the request itself. A key is bound to the request it was first used for; reusing it for another
+ * one is rejected.
+ * <p>
+ * The response is stored once the request has committed. Duplicates racing on different instances are not
+ * serialized: a second submit is then rejected by the step check, as without a key.
+ */
+@Component
+public class IdempotencyKeys {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyKeys.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static final List<String> SCHEMA = List.of(
+            "CREATE TABLE IF NOT EXISTS idempotency_keys (" +
+            "  idempotency_key varchar(255) PRIMARY KEY, fingerprint text NOT NULL, response bytea NOT NULL," +
+            "  created_at timestamp(6) NOT NULL DEFAULT now()" +
+            ")",
+            "CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys (created_at)");
+
+    private static final String FIND_SQL =
+            "SELECT fingerprint, response FROM idempotency_keys WHERE idempotency_key = ? AND created_at > ?";
+
+    // A concurrent instance may have stored the same key first; both responses describe the same outcome
+    private static final String INSERT_SQL =
+            "INSERT INTO idempotency_keys (idempotency_key, fingerprint, response) VALUES (?, ?, ?) " +
+            "ON CONFLICT (idempotency_key) DO NOTHING";
+
+    private static final String PURGE_SQL = "DELETE FROM idempotency_keys WHERE created_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties properties;
+    private final Cache<String, StoredResponse> recent;
+    // Completed with the stored response, or with null if the request failed
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyKeys(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, IdempotencyProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .expireAfterWrite(properties.getRetention())
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createSchema() {
+        SCHEMA.forEach(jdbcTemplate::execute);
+    }
+
+    /**
+     * Runs {@code request} unless {@code key} was already used, and returns its result as JSON.
+     *
+     * @param key         the {@code Idempotency-Key} header, or {@code null} to always run {@code request}
+     * @param fingerprint what the request does; a key is only replayed for the same fingerprint
+     * @throws IdempotencyKeyException   if the key is malformed or was used for a different request
+     * @throws ProcessConflictException if the request with the same key is still running after the acquire timeout
+     */
+    public IdempotentResponse execute(String key, String fingerprint, Supplier<?> request) {
+        if (key == null || !properties.isEnabled()) {
+            return new IdempotentResponse(serialize(request.get()), false);
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IdempotencyKeyException("Idempotency-Key must have 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        long deadline = System.nanoTime() + properties.getAcquireTimeout().toNanos();
+        while (true) {
+            StoredResponse stored = recent.getIfPresent(key);
+            if (stored != null) {
+                return replay(key, fingerprint, stored);
+            }
+
+            CompletableFuture<StoredResponse> running = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> original = inFlight.putIfAbsent(key, running);
+            if (original == null) {
+                return run(key, fingerprint, request, running);
+            }
+            stored = await(key, original, deadline);
+            if (stored != null) {
+                return replay(key, fingerprint, stored);
+            }
+            // The original failed and stored nothing, so this duplicate may run the request itself
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${process.idempotency.cleanup-interval:PT1H}",
+            initialDelayString = "${process.idempotency.cleanup-interval:PT1H}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(LocalDateTime.now().minus(properties.getRetention())));
+        if (purged > 0) {
+            logger.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private IdempotentResponse run(String key, String fingerprint, Supplier<?> request,
+                                   CompletableFuture<StoredResponse> running) {
+        StoredResponse stored = null;
+        try {
+            // The original may have finished between the first look and being marked in flight
+            stored = recent.getIfPresent(key);
+            if (stored == null) {
+                stored = find(key);
+            }
+            if (stored != null) {
+                recent.put(key, stored);
+                return replay(key, fingerprint, stored);
+            }
+
+            byte[] response = serialize(request.get());
+            stored = new StoredResponse(fingerprint, response);
+            recent.put(key, stored);
+            try {
+                jdbcTemplate.update(INSERT_SQL, key, fingerprint, response);
+            } catch (DataAccessException e) {
+                // The request itself went through; failing now would only make the client retry it
+                logger.error("❌ Response for Idempotency-Key {} is only kept in memory", key, e);
+            }
+            return new IdempotentResponse(response, false);
+        } finally {
+            // Unmarked first, so a duplicate woken by a failure can mark the key itself
+            inFlight.remove(key, running);
+            running.complete(stored);
+        }
+    }
+
+    private static StoredResponse await(String key, CompletableFuture<StoredResponse> original, long deadline) {
+        try {
+            return original.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new ProcessConflictException("A request with Idempotency-Key " + key + " is in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ProcessConflictException("Interrupted while waiting for Idempotency-Key " + key, e);
+        } catch (ExecutionException e) {
+            // Never completed exceptionally
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private StoredResponse find(String key) {
+        List<StoredResponse> rows = jdbcTemplate.query(FIND_SQL,
+                (rs, rowNum) -> new StoredResponse(rs.getString("fingerprint"), rs.getBytes("response")),
+                key, Timestamp.valueOf(LocalDateTime.now().minus(properties.getRetention())));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private static IdempotentResponse replay(String key, String fingerprint, StoredResponse stored) {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyException("Idempotency-Key " + key + " was already used for a different request");
+        }
+        logger.info("♻️ Replaying response for Idempotency-Key {}", key);
+        return new IdempotentResponse(stored.response(), true);
+    }
+
+    private byte[] serialize(Object response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize response", e);
+        }
+    }
+
+    private record StoredResponse(String fingerprint, byte[] response) {
+    }
+
+}
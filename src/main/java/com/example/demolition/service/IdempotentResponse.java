@@ -0,0 +1,9 @@
+package com.example.demolition.service;
+
+/**
+ * JSON response of a start or submit request.
+ *
+ * @param replayed true if the body was stored by an earlier request with the same {@code Idempotency-Key}
+ */
+public record IdempotentResponse(byte[] body, boolean replayed) {
+}
@@ -0,0 +1,20 @@
+package com.example.demolition.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Results of a bulk import, and why reading the request stopped early if it did.
+ * <p>
+ * Every application in {@code results} has been handled as reported, whether or not there is an {@code error};
+ * the applications after the last reported one were never read.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportReport(List<ImportResult> results, String error) {
+
+    public boolean complete() {
+        return error == null;
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.example.demolition.service;
+
+import com.example.demolition.entity.Process;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one application in a bulk import, reported by its position in the request.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportResult(int index, Long processId, String currentState, String error) {
+
+    public static ImportResult imported(int index, Process process) {
+        return new ImportResult(index, process.getId(), process.getCurrentState(), null);
+    }
+
+    public static ImportResult failed(int index, String error) {
+        return new ImportResult(index, null, null, error);
+    }
+
+}
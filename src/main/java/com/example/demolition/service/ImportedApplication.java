@@ -0,0 +1,19 @@
+package com.example.demolition.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+/**
+ * One application in a bulk import: the process type plus the steps to replay, in order.
+ */
+public record ImportedApplication(String processType, List<Step> steps) {
+
+    public record Step(String step, String event, JsonNode data) {
+    }
+
+    public List<Step> steps() {
+        return steps != null ? steps : List.of();
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.example.demolition.service;
+
+/**
+ * Outcome of replaying the transition journal of one process.
+ *
+ * @param storedState  {@code current_state} as it was read, before any repair
+ * @param journalState the state the journal ends in
+ * @param version      the version of the process after the replay
+ * @param repaired     whether {@code current_state} was replaced by {@code journalState}
+ */
+public record JournalReplay(Long processId, String storedState, String journalState, int entries, Long version,
+                            boolean repaired) {
+
+    public boolean consistent() {
+        return journalState.equals(storedState);
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.example.demolition.service;
+
+import com.example.demolition.config.ProcessArchiveProperties;
+import com.example.demolition.statemachine.WorkflowModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Moves processes that reached an end state of their workflow before the retention period into {@link ProcessArchive}.
+ * <p>
+ * Each chunk is moved in its own short transaction. Chunks are picked with {@code SKIP LOCKED}, so the
+ * job never waits on rows a request is working on, and several instances can run it at the same time.
+ */
+@Component
+public class ProcessArchivalJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessArchivalJob.class);
+
+    private final ProcessArchive processArchive;
+    private final ProcessArchiveProperties properties;
+    private final FormConfigRegistry formConfigs;
+    private final TransactionTemplate transactionTemplate;
+
+    public ProcessArchivalJob(ProcessArchive processArchive, ProcessArchiveProperties properties,
+                              FormConfigRegistry formConfigs, PlatformTransactionManager transactionManager) {
+        this.processArchive = processArchive;
+        this.properties = properties;
+        this.formConfigs = formConfigs;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${process.archive.interval:PT1H}", initialDelayString = "${process.archive.interval:PT1H}")
+    public void archive() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        FormConfigSnapshot config = formConfigs.current();
+        int archived = 0;
+        for (String processType : config.config().getProcesses().keySet()) {
+            WorkflowModel workflow = config.workflows().model(processType);
+            if (workflow.endStates().isEmpty()) {
+                continue;
+            }
+            int moved;
+            do {
+                moved = transactionTemplate.execute(status ->
+                        processArchive.archiveChunk(processType, workflow.endStates(), cutoff, properties.getBatchSize()));
+                archived += moved;
+            } while (moved == properties.getBatchSize());
+        }
+
+        if (archived > 0) {
+            logger.info("Archived {} finished processes", archived);
+        }
+    }
+
+}
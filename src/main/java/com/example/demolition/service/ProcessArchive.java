@@ -0,0 +1,168 @@
+package com.example.demolition.service;
+
+import com.example.demolition.entity.CurrentFormData;
+import com.example.demolition.entity.Process;
+import com.example.demolition.repository.ProcessVersion;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Cold storage for finished processes, range-partitioned by month of {@code created_at}.
+ * <p>
+ * {@code processes_archive}, {@code form_data_archive} and {@code form_data_current_archive} mirror the
+ * live tables plus the partition key; a month's partition is created when the first process of that
+ * month is archived. Moving a chunk deletes it from the live tables with {@code DELETE ... RETURNING}
+ * and inserts the returned rows in the same statement, so the live tables and their indexes only hold
+ * in-flight and recently finished processes.
+ */
+@Component
+public class ProcessArchive {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final List<String> SCHEMA = List.of(
+            "CREATE TABLE IF NOT EXISTS processes_archive (" +
+            "  id bigint NOT NULL, process_type varchar(255), current_state varchar(255), version bigint, config_version varchar(255)," +
+            "  created_at timestamp(6) NOT NULL, updated_at timestamp(6), archived_at timestamp(6) NOT NULL DEFAULT now()," +
+            "  PRIMARY KEY (id, created_at)" +
+            ") PARTITION BY RANGE (created_at)",
+            "ALTER TABLE processes_archive ADD COLUMN IF NOT EXISTS config_version varchar(255)",
+            "CREATE TABLE IF NOT EXISTS form_data_archive (" +
+            "  id bigint NOT NULL, process_id bigint NOT NULL, step varchar(255), form_data_json jsonb," +
+            "  process_created_at timestamp(6) NOT NULL," +
+            "  PRIMARY KEY (id, process_created_at)" +
+            ") PARTITION BY RANGE (process_created_at)",
+            "CREATE INDEX IF NOT EXISTS idx_form_data_archive_process_id ON form_data_archive (process_id)",
+            "CREATE TABLE IF NOT EXISTS form_data_current_archive (" +
+            "  process_id bigint NOT NULL, step varchar(255) NOT NULL, form_data_json jsonb," +
+            "  process_created_at timestamp(6) NOT NULL," +
+            "  PRIMARY KEY (process_id, step, process_created_at)" +
+            ") PARTITION BY RANGE (process_created_at)");
+
+    private static final List<String> PARTITIONED_TABLES = List.of("processes_archive", "form_data_archive", "form_data_current_archive");
+
+    // Partition key for rows written before created_at was populated
+    private static final String CREATED_AT = "COALESCE(p.created_at, p.updated_at, TIMESTAMP '1970-01-01')";
+
+    private static final String NEXT_CHUNK_SQL =
+            "SELECT id FROM processes WHERE process_type = ? AND current_state = ANY(?) AND updated_at < ? " +
+            "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String CHUNK_MONTHS_SQL =
+            "SELECT DISTINCT date_trunc('month', " + CREATED_AT + ")::date FROM processes p WHERE p.id = ANY(?)";
+
+    private static final String MOVE_FORM_DATA_SQL =
+            "WITH moved AS (DELETE FROM form_data WHERE process_id = ANY(?) RETURNING id, process_id, step, form_data_json) " +
+            "INSERT INTO form_data_archive (id, process_id, step, form_data_json, process_created_at) " +
+            "SELECT m.id, m.process_id, m.step, m.form_data_json, " + CREATED_AT + " FROM moved m JOIN processes p ON p.id = m.process_id";
+
+    private static final String MOVE_CURRENT_FORM_DATA_SQL =
+            "WITH moved AS (DELETE FROM form_data_current WHERE process_id = ANY(?) RETURNING process_id, step, form_data_json) " +
+            "INSERT INTO form_data_current_archive (process_id, step, form_data_json, process_created_at) " +
+            "SELECT m.process_id, m.step, m.form_data_json, " + CREATED_AT + " FROM moved m JOIN processes p ON p.id = m.process_id";
+
+    private static final String MOVE_PROCESSES_SQL =
+            "WITH p AS (DELETE FROM processes WHERE id = ANY(?) " +
+            "RETURNING id, process_type, current_state, version, config_version, created_at, updated_at) " +
+            "INSERT INTO processes_archive (id, process_type, current_state, version, config_version, created_at, updated_at) " +
+            "SELECT p.id, p.process_type, p.current_state, p.version, p.config_version, " + CREATED_AT + ", p.updated_at FROM p";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProcessArchive(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createSchema() {
+        SCHEMA.forEach(jdbcTemplate::execute);
+    }
+
+    /**
+     * Moves up to {@code limit} processes of a type that reached one of its end states before {@code cutoff},
+     * with their form data. Must run inside a transaction.
+     *
+     * @return the number of processes moved
+     */
+    public int archiveChunk(String processType, Collection<String> endStates, LocalDateTime cutoff, int limit) {
+        List<Long> ids = jdbcTemplate.queryForList(NEXT_CHUNK_SQL, Long.class,
+                processType, endStates.toArray(String[]::new), Timestamp.valueOf(cutoff), limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Long[] chunk = ids.toArray(Long[]::new);
+
+        for (LocalDate month : jdbcTemplate.queryForList(CHUNK_MONTHS_SQL, LocalDate.class, (Object) chunk)) {
+            createPartitions(month);
+        }
+        // Children first, they reference the process rows
+        jdbcTemplate.update(MOVE_FORM_DATA_SQL, (Object) chunk);
+        jdbcTemplate.update(MOVE_CURRENT_FORM_DATA_SQL, (Object) chunk);
+        return jdbcTemplate.update(MOVE_PROCESSES_SQL, (Object) chunk);
+    }
+
+    /**
+     * Looks up an archived process by id. Every partition is probed through its primary key index.
+     */
+    public Optional<ArchivedProcess> findProcess(Long processId) {
+        List<Process> processes = jdbcTemplate.query(
+                "SELECT id, process_type, current_state, config_version, created_at, updated_at FROM processes_archive WHERE id = ?",
+                (rs, rowNum) -> {
+                    Process process = new Process();
+                    process.setId(rs.getLong("id"));
+                    process.setProcessType(rs.getString("process_type"));
+                    process.setCurrentState(rs.getString("current_state"));
+                    process.setConfigVersion(rs.getString("config_version"));
+                    process.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
+                    Timestamp updatedAt = rs.getTimestamp("updated_at");
+                    process.setUpdatedAt(updatedAt != null ? updatedAt.toLocalDateTime() : null);
+                    return process;
+                }, processId);
+        if (processes.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<CurrentFormData> currentFormData = jdbcTemplate.query(
+                "SELECT step, form_data_json FROM form_data_current_archive WHERE process_id = ?",
+                (rs, rowNum) -> new CurrentFormData(processId, rs.getString("step"), rs.getString("form_data_json")),
+                processId);
+        return Optional.of(new ArchivedProcess(processes.get(0), currentFormData));
+    }
+
+    /**
+     * Looks up the version columns of an archived process, see {@link #findProcess}.
+     */
+    public Optional<ProcessVersion> findVersion(Long processId) {
+        return jdbcTemplate.query(
+                "SELECT id, version, updated_at, config_version FROM processes_archive WHERE id = ?",
+                (rs, rowNum) -> {
+                    Timestamp updatedAt = rs.getTimestamp("updated_at");
+                    return new ProcessVersion(rs.getLong("id"), rs.getLong("version"),
+                            updatedAt != null ? updatedAt.toLocalDateTime() : null, rs.getString("config_version"));
+                }, processId).stream().findFirst();
+    }
+
+    private void createPartitions(LocalDate month) {
+        for (String table : PARTITIONED_TABLES) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table + "_" + month.format(PARTITION_SUFFIX) +
+                    " PARTITION OF " + table + " FOR VALUES FROM ('" + month + "') TO ('" + month.plusMonths(1) + "')");
+        }
+    }
+
+    /**
+     * An archived process with the latest data per step, as it was when archived.
+     */
+    public record ArchivedProcess(Process process, List<CurrentFormData> currentFormData) {
+    }
+
+}
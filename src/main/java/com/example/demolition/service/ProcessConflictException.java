@@ -0,0 +1,20 @@
+package com.example.demolition.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A submit lost against a concurrent change of the same process. The client should reload the form.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ProcessConflictException extends RuntimeException {
+
+    public ProcessConflictException(String message) {
+        super(message);
+    }
+
+    public ProcessConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.example.demolition.service;
+
+import com.example.demolition.config.ProcessExportProperties;
+import com.example.demolition.statemachine.WorkflowModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+
+/**
+ * Writes the processes in each end state of every configured workflow to
+ * {@code <directory>/<type>-<end state>-<date>.<format>}, e.g. {@code loan-completed-2025-01-31.csv}.
+ * <p>
+ * Each file is written under a temporary name and moved into place when complete, so downstream jobs
+ * never pick up a partial export.
+ */
+@Component
+public class ProcessExportJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessExportJob.class);
+
+    private final ProcessExportService processExportService;
+    private final FormConfigRegistry formConfigs;
+    private final ProcessExportProperties properties;
+
+    public ProcessExportJob(ProcessExportService processExportService, FormConfigRegistry formConfigs,
+                            ProcessExportProperties properties) {
+        this.processExportService = processExportService;
+        this.formConfigs = formConfigs;
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "${process.export.cron:-}")
+    public void exportFinished() throws IOException {
+        ProcessExportService.Format format = ProcessExportService.Format.of(properties.getFormat());
+        Path directory = Files.createDirectories(Path.of(properties.getDirectory()));
+
+        FormConfigSnapshot config = formConfigs.current();
+        for (String processType : config.config().getProcesses().keySet()) {
+            WorkflowModel workflow = config.workflows().model(processType);
+            for (String endState : workflow.endStates()) {
+                Path target = directory.resolve(processType + "-" + endState.toLowerCase() + "-" + LocalDate.now()
+                        + "." + format.extension());
+                Path partial = directory.resolve(target.getFileName() + ".partial");
+
+                long exported;
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                    exported = processExportService.export(processType, endState, format, out);
+                }
+                Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                logger.info("📦 Exported {} {} processes in {} to {}", exported, processType, endState, target);
+            }
+        }
+    }
+
+}
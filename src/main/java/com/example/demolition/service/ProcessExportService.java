@@ -0,0 +1,318 @@
+package com.example.demolition.service;
+
+import com.example.demolition.config.FormFieldConfig;
+import com.example.demolition.config.ProcessExportProperties;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streams processes with their latest data per step as NDJSON or CSV, one flat record per process.
+ * <p>
+ * Rows come from a server-side cursor ({@code fetchSize} inside a read-only transaction) in process id
+ * order and are folded one process at a time, so memory stays flat regardless of the export size.
+ * Columns are the process attributes followed by the field ids of each step, steps in workflow order. A field id
+ * used by more than one step, or named like a process attribute, is qualified as {@code step.field}.
+ */
+@Service
+public class ProcessExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson"), CSV("text/csv");
+
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public static Format of(String format) {
+            try {
+                return valueOf(format.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format);
+            }
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static final String EXPORT_SQL =
+            "SELECT p.id, p.process_type, p.current_state, p.created_at, p.updated_at, c.step, c.form_data_json " +
+            "FROM processes p LEFT JOIN form_data_current c ON c.process_id = p.id " +
+            "WHERE p.process_type = ? AND p.current_state = ? ORDER BY p.id";
+
+    // Most recently used first
+    private static final String CONFIG_VERSIONS_SQL =
+            "SELECT config_version FROM processes WHERE process_type = ? AND current_state = ? " +
+            "GROUP BY config_version ORDER BY max(id) DESC";
+
+    private static final List<String> PROCESS_COLUMNS = List.of("processId", "processType", "currentState", "createdAt", "updatedAt");
+
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final FormConfigRegistry formConfigs;
+
+    public ProcessExportService(DataSource dataSource, PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                                FormConfigRegistry formConfigs, ProcessExportProperties properties) {
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(properties.getFetchSize());
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.formConfigs = formConfigs;
+    }
+
+    /**
+     * @return the number of processes written
+     * @throws ResponseStatusException before anything is written, if {@code processType} is not configured
+     */
+    public long export(String processType, String state, Format format, OutputStream out) {
+        List<Column> columns = columns(processType, state);
+        try {
+            RecordWriter writer = format == Format.CSV ? new CsvWriter(out, columns) : new NdjsonWriter(out, columns);
+            ProcessRows rows = new ProcessRows(writer);
+            readOnlyTransaction.executeWithoutResult(status ->
+                    cursorTemplate.query(EXPORT_SQL, rows::add, processType, state));
+            rows.finish();
+            writer.close();
+            return rows.count;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Fields of every configuration version the exported processes were started with, the current one first,
+     * so a field renamed since still has a column for the processes that submitted it.
+     */
+    private List<Column> columns(String processType, String state) {
+        List<FormConfigSnapshot> versions = new ArrayList<>();
+        versions.add(formConfigs.current());
+        cursorTemplate.queryForList(CONFIG_VERSIONS_SQL, String.class, processType, state).stream()
+                .map(formConfigs::forVersion)
+                .filter(snapshot -> !versions.contains(snapshot))
+                .forEach(versions::add);
+
+        // Field ids per step, in the order of the workflow
+        Map<String, Set<String>> fieldsByStep = new LinkedHashMap<>();
+        boolean configured = false;
+        for (FormConfigSnapshot snapshot : versions) {
+            FormFieldConfig.ProcessConfig processConfig = snapshot.config().getProcesses().get(processType);
+            if (processConfig == null) {
+                continue;
+            }
+            configured = true;
+            for (String stepKey : snapshot.workflows().model(processType).stepKeys()) {
+                List<FormFieldConfig.FieldConfig> fields = processConfig.getSteps().get(stepKey).getFields();
+                if (fields != null) {
+                    fields.forEach(field -> fieldsByStep.computeIfAbsent(stepKey, key -> new LinkedHashSet<>()).add(field.getId()));
+                }
+            }
+        }
+        if (!configured) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Process type not configured: " + processType);
+        }
+
+        // A field id that is also a process column, or used by more than one step, is qualified as step.field
+        Set<String> taken = new HashSet<>(PROCESS_COLUMNS);
+        Set<String> duplicates = new HashSet<>();
+        fieldsByStep.values().forEach(fields -> fields.forEach(field -> {
+            if (!taken.add(field)) {
+                duplicates.add(field);
+            }
+        }));
+
+        List<Column> columns = new ArrayList<>();
+        fieldsByStep.forEach((stepKey, fields) -> fields.forEach(field ->
+                columns.add(new Column(stepKey, field, duplicates.contains(field) ? stepKey + "." + field : field))));
+        return List.copyOf(columns);
+    }
+
+    private record Column(String step, String field, String header) {
+    }
+
+    /**
+     * Folds consecutive rows of the same process into one record.
+     */
+    private class ProcessRows {
+
+        private final RecordWriter writer;
+        private final Map<String, JsonNode> steps = new HashMap<>();
+        private Object[] process;
+        private long processId = -1;
+        private long count;
+
+        ProcessRows(RecordWriter writer) {
+            this.writer = writer;
+        }
+
+        void add(ResultSet rs) throws SQLException {
+            long id = rs.getLong("id");
+            if (id != processId) {
+                finish();
+                processId = id;
+                process = new Object[]{id, rs.getString("process_type"), rs.getString("current_state"),
+                        toString(rs.getTimestamp("created_at")), toString(rs.getTimestamp("updated_at"))};
+            }
+            String step = rs.getString("step");
+            String json = rs.getString("form_data_json");
+            if (step != null && json != null) {
+                try {
+                    steps.put(step, objectMapper.readTree(json));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        void finish() {
+            if (process == null) {
+                return;
+            }
+            try {
+                writer.write(process, steps);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            count++;
+            process = null;
+            steps.clear();
+        }
+
+        private static String toString(Timestamp timestamp) {
+            return timestamp != null ? timestamp.toLocalDateTime().toString() : null;
+        }
+    }
+
+    private interface RecordWriter {
+
+        void write(Object[] process, Map<String, JsonNode> steps) throws IOException;
+
+        void close() throws IOException;
+    }
+
+    private class NdjsonWriter implements RecordWriter {
+
+        private final JsonGenerator generator;
+        private final List<Column> columns;
+
+        NdjsonWriter(OutputStream out, List<Column> columns) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.setRootValueSeparator(null);
+            this.columns = columns;
+        }
+
+        @Override
+        public void write(Object[] process, Map<String, JsonNode> steps) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < PROCESS_COLUMNS.size(); i++) {
+                generator.writeObjectField(PROCESS_COLUMNS.get(i), process[i]);
+            }
+            for (Column column : columns) {
+                JsonNode data = steps.get(column.step());
+                JsonNode value = data != null ? data.get(column.field()) : null;
+                if (value != null) {
+                    generator.writeFieldName(column.header());
+                    generator.writeTree(value);
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static class CsvWriter implements RecordWriter {
+
+        private final Writer out;
+        private final List<Column> columns;
+
+        CsvWriter(OutputStream out, List<Column> columns) throws IOException {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.columns = columns;
+
+            List<String> header = new ArrayList<>(PROCESS_COLUMNS);
+            columns.forEach(column -> header.add(column.header()));
+            writeLine(header);
+        }
+
+        @Override
+        public void write(Object[] process, Map<String, JsonNode> steps) throws IOException {
+            List<String> values = new ArrayList<>(PROCESS_COLUMNS.size() + columns.size());
+            for (Object value : process) {
+                values.add(value != null ? value.toString() : null);
+            }
+            for (Column column : columns) {
+                JsonNode data = steps.get(column.step());
+                JsonNode value = data != null ? data.get(column.field()) : null;
+                values.add(value == null || value.isNull() ? null : value.isValueNode() ? value.asText() : value.toString());
+            }
+            writeLine(values);
+        }
+
+        private void writeLine(List<String> values) throws IOException {
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                String value = values.get(i);
+                if (value != null) {
+                    out.write(escape(value));
+                }
+            }
+            out.write("\r\n");
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+
+}
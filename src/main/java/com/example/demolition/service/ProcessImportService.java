@@ -0,0 +1,112 @@
+package com.example.demolition.service;
+
+import com.example.demolition.config.BulkImportProperties;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams a JSON array of applications and imports them chunk by chunk.
+ * <p>
+ * Only one chunk is held in memory at a time. Each chunk is imported in its own transaction by
+ * {@link ProcessService#importApplications}; if that transaction fails, every application of the
+ * chunk is reported as failed and the import carries on with the next chunk. An element that is not an
+ * application is reported as failed on its own. If the request stops being valid JSON, the applications
+ * read up to that point are still imported, and the report says where reading stopped.
+ */
+@Service
+public class ProcessImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessImportService.class);
+
+    private final ProcessService processService;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final BulkImportProperties properties;
+
+    public ProcessImportService(ProcessService processService, ObjectMapper objectMapper,
+                                EntityManager entityManager, BulkImportProperties properties) {
+        this.processService = processService;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.properties = properties;
+    }
+
+    public ImportReport importApplications(InputStream body) {
+        List<ImportResult> results = new ArrayList<>();
+        List<ImportedApplication> chunk = new ArrayList<>(properties.getChunkSize());
+        int index = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return new ImportReport(results, "Expected a JSON array of applications");
+            }
+
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                String error = null;
+                if (token == JsonToken.START_OBJECT) {
+                    try {
+                        chunk.add(objectMapper.treeToValue(objectMapper.readTree(parser), ImportedApplication.class));
+                    } catch (JsonMappingException e) {
+                        error = "Not an application: " + e.getOriginalMessage();
+                    }
+                } else {
+                    parser.skipChildren();
+                    error = "Not an application: expected a JSON object";
+                }
+
+                if (error != null) {
+                    // Import what came before first, so results stay in request order
+                    results.addAll(importChunk(chunk, index - chunk.size()));
+                    results.add(ImportResult.failed(index, error));
+                } else if (chunk.size() == properties.getChunkSize()) {
+                    results.addAll(importChunk(chunk, index + 1 - chunk.size()));
+                }
+                index++;
+            }
+        } catch (IOException e) {
+            logger.warn("Bulk import request unreadable after {} applications", index, e);
+            // The applications read so far are complete, import them like any other
+            results.addAll(importChunk(chunk, index - chunk.size()));
+            String message = e instanceof JsonProcessingException jsonError ? jsonError.getOriginalMessage() : e.getMessage();
+            return new ImportReport(results, "Request unreadable at application " + index + ": " + message);
+        }
+        results.addAll(importChunk(chunk, index - chunk.size()));
+        return new ImportReport(results, null);
+    }
+
+    /**
+     * Imports and clears {@code chunk}.
+     */
+    private List<ImportResult> importChunk(List<ImportedApplication> chunk, int firstIndex) {
+        if (chunk.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return processService.importApplications(chunk, firstIndex);
+        } catch (RuntimeException e) {
+            logger.warn("Bulk import chunk starting at {} failed", firstIndex, e);
+            List<ImportResult> failed = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                failed.add(ImportResult.failed(firstIndex + i, "Chunk failed: " + e.getMessage()));
+            }
+            return failed;
+        } finally {
+            // The request-scoped persistence context would otherwise keep every imported entity
+            entityManager.clear();
+            chunk.clear();
+        }
+    }
+
+}
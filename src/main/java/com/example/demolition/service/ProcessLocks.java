@@ -0,0 +1,79 @@
+package com.example.demolition.service;
+
+import com.example.demolition.config.ProcessLockProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process locks, one per process id that is being submitted.
+ * <p>
+ * Submits for the same process on this instance queue here instead of racing to the database; submits for
+ * other processes never wait on each other. A lock exists only while someone holds or waits for it, and is
+ * dropped when the last of them lets go, so memory stays bounded by the number of concurrent submits.
+ * Waiting is bounded, so a hot process cannot hold up its callers indefinitely.
+ * {@link ReentrantLock} does not pin virtual threads.
+ */
+@Component
+public class ProcessLocks {
+
+    private final Map<Long, ProcessLock> locks = new ConcurrentHashMap<>();
+    private final long acquireTimeoutNanos;
+
+    public ProcessLocks(ProcessLockProperties properties) {
+        this.acquireTimeoutNanos = properties.getAcquireTimeout().toNanos();
+    }
+
+    /**
+     * Locks {@code processId}; the caller must unlock the returned lock.
+     *
+     * @throws ProcessConflictException if another submit holds the process for longer than the acquire timeout
+     */
+    public Lock lock(Long processId) {
+        ProcessLock lock = locks.compute(processId, (id, existing) -> {
+            ProcessLock acquired = existing != null ? existing : new ProcessLock(id);
+            acquired.users++;
+            return acquired;
+        });
+        try {
+            if (!lock.tryLock(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                release(lock);
+                throw new ProcessConflictException("Another submit for process " + processId + " is in progress");
+            }
+        } catch (InterruptedException e) {
+            release(lock);
+            Thread.currentThread().interrupt();
+            throw new ProcessConflictException("Interrupted while waiting to submit process " + processId, e);
+        }
+        return lock;
+    }
+
+    private void release(ProcessLock lock) {
+        locks.computeIfPresent(lock.processId, (id, existing) -> --existing.users == 0 ? null : existing);
+    }
+
+    /**
+     * Counts its holders and waiters; only changed inside a map operation on its process id.
+     */
+    private final class ProcessLock extends ReentrantLock {
+
+        private final Long processId;
+        private int users;
+
+        private ProcessLock(Long processId) {
+            this.processId = processId;
+        }
+
+        @Override
+        public void unlock() {
+            super.unlock();
+            release(this);
+        }
+
+    }
+
+}
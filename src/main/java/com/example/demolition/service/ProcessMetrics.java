@@ -0,0 +1,113 @@
+package com.example.demolition.service;
+
+import com.example.demolition.config.ProcessMetricsProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transition and submit phase metrics, tagged by process type, states and event.
+ * <p>
+ * Meters are looked up once per tag combination and cached, so recording does not build tags on the
+ * request path. Callers take a timestamp with {@link #start()} and pass it back when recording; with
+ * {@code process.metrics.enabled=false} neither call reads the clock or touches the registry.
+ */
+@Component
+public class ProcessMetrics {
+
+    /**
+     * Phases of {@link ProcessService#submitStep}.
+     */
+    public enum Phase {
+        FORM_DATA, RESTORE, TRANSITION, PERSIST;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+
+    private final Map<PhaseKey, Timer> phases = new ConcurrentHashMap<>();
+    private final Map<TransitionKey, Timer> transitions = new ConcurrentHashMap<>();
+    private final Map<TransitionKey, Counter> rejections = new ConcurrentHashMap<>();
+    private final Map<TransitionKey, Counter> outOfSync = new ConcurrentHashMap<>();
+
+    public ProcessMetrics(MeterRegistry meterRegistry, ProcessMetricsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = properties.isEnabled();
+    }
+
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public void recordPhase(Phase phase, String processType, long start) {
+        if (!enabled) {
+            return;
+        }
+        phases.computeIfAbsent(new PhaseKey(phase, processType), key -> Timer.builder("process.submit.phase")
+                        .description("Time spent in each phase of a step submit")
+                        .tag("phase", key.phase().tag)
+                        .tag("processType", String.valueOf(key.processType()))
+                        .register(meterRegistry))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordTransition(String processType, String source, String event, String target, long start) {
+        if (!enabled) {
+            return;
+        }
+        transitions.computeIfAbsent(new TransitionKey(processType, source, event, target), key -> Timer.builder("process.transitions")
+                        .description("Accepted state transitions")
+                        .tags(key.tags())
+                        .register(meterRegistry))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRejected(String processType, String source, String event) {
+        if (!enabled) {
+            return;
+        }
+        rejections.computeIfAbsent(new TransitionKey(processType, source, event, null), key -> Counter.builder("process.transitions.rejected")
+                        .description("Events not accepted in the current state")
+                        .tags(key.tags())
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    /**
+     * @param actual the state the rehydrated machine reported instead of {@code persisted}
+     */
+    public void recordOutOfSync(String processType, String persisted, String event, String actual) {
+        if (!enabled) {
+            return;
+        }
+        outOfSync.computeIfAbsent(new TransitionKey(processType, persisted, event, actual), key -> Counter.builder("process.statemachine.out_of_sync")
+                        .description("Rehydrated machines whose state differed from the database")
+                        .tags(key.tags())
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    private record PhaseKey(Phase phase, String processType) {
+    }
+
+    private record TransitionKey(String processType, String source, String event, String target) {
+
+        String[] tags() {
+            return new String[]{
+                    "processType", String.valueOf(processType),
+                    "source", source,
+                    "event", event,
+                    "target", target != null ? target : "none"
+            };
+        }
+    }
+
+}
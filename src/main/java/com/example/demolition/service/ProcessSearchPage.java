@@ -0,0 +1,16 @@
+package com.example.demolition.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One page of search results in id order.
+ *
+ * @param next value to pass as {@code after} for the following page, {@code null} on the last page
+ */
+public record ProcessSearchPage(List<Item> items, Long next) {
+
+    public record Item(Long id, String processType, String currentState, LocalDateTime createdAt, LocalDateTime updatedAt) {
+    }
+
+}
@@ -0,0 +1,241 @@
+package com.example.demolition.service;
+
+import com.example.demolition.config.FormFieldConfig;
+import com.example.demolition.config.ProcessSearchProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Searches processes by type, state, creation date and the latest submitted value of form fields.
+ * <p>
+ * Field filters are matched against {@code form_data_current}: equality through jsonb containment
+ * ({@code @>}, served by a GIN index) and numeric ranges through {@code form_numeric(...)} expression
+ * indexes, see {@link SearchIndexInitializer}. Pages are keyset-paginated on the process id, so every
+ * page is an index range scan no matter how deep it is.
+ * <p>
+ * Filters are request parameters: {@code processType}, {@code state}, {@code createdFrom} and
+ * {@code createdTo} (ISO dates, inclusive), {@code after} and {@code limit} for paging, and per field id
+ * {@code <field>=value}, {@code <field>.min=n}, {@code <field>.max=n}. The searchable fields are those of the
+ * current form configuration, recomputed when a reload makes another version current.
+ */
+@Service
+public class ProcessSearchService {
+
+    // Field ids are inlined into SQL so that queries match the expression indexes
+    private static final Pattern SEARCHABLE_ID = Pattern.compile("[A-Za-z][A-Za-z0-9_]*");
+
+    private static final Set<String> RESERVED = Set.of("processType", "state", "createdFrom", "createdTo", "after", "limit");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final FormConfigRegistry formConfigs;
+    private final ProcessSearchProperties properties;
+    private volatile SearchFields fields;
+
+    public ProcessSearchService(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, FormConfigRegistry formConfigs,
+                                ProcessSearchProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.formConfigs = formConfigs;
+        this.properties = properties;
+    }
+
+    /**
+     * Field ids of {@code number} fields, which get a numeric expression index.
+     */
+    public List<String> numericFields() {
+        return fields().values().stream().filter(SearchField::numeric).map(SearchField::id).toList();
+    }
+
+    public ProcessSearchPage search(Map<String, String> filters) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT p.id, p.process_type, p.current_state, p.created_at, p.updated_at FROM processes p WHERE p.id > ?");
+        List<Object> args = new ArrayList<>();
+        args.add(parseLong("after", filters.getOrDefault("after", "0")));
+
+        if (filters.containsKey("processType")) {
+            sql.append(" AND p.process_type = ?");
+            args.add(filters.get("processType"));
+        }
+        if (filters.containsKey("state")) {
+            sql.append(" AND p.current_state = ?");
+            args.add(filters.get("state"));
+        }
+        if (filters.containsKey("createdFrom")) {
+            sql.append(" AND p.created_at >= ?");
+            args.add(Timestamp.valueOf(parseDate("createdFrom", filters.get("createdFrom")).atStartOfDay()));
+        }
+        if (filters.containsKey("createdTo")) {
+            sql.append(" AND p.created_at < ?");
+            args.add(Timestamp.valueOf(parseDate("createdTo", filters.get("createdTo")).plusDays(1).atStartOfDay()));
+        }
+
+        // One EXISTS per field, holding all predicates on it
+        Map<String, SearchField> searchFields = fields();
+        Map<SearchField, List<String>> predicates = new LinkedHashMap<>();
+        Map<SearchField, List<Object>> predicateArgs = new HashMap<>();
+        filters.forEach((key, value) -> {
+            if (RESERVED.contains(key)) {
+                return;
+            }
+            int dot = key.indexOf('.');
+            String fieldId = dot < 0 ? key : key.substring(0, dot);
+            String operator = dot < 0 ? "eq" : key.substring(dot + 1);
+            SearchField field = searchFields.get(fieldId);
+            if (field == null) {
+                throw new SearchRequestException("Unknown search field: " + fieldId);
+            }
+
+            List<String> fieldPredicates = predicates.computeIfAbsent(field, f -> new ArrayList<>());
+            List<Object> fieldArgs = predicateArgs.computeIfAbsent(field, f -> new ArrayList<>());
+            switch (operator) {
+                case "eq" -> {
+                    if (field.numeric()) {
+                        fieldPredicates.add(field.numericExpression() + " = ?");
+                        fieldArgs.add(parseNumber(key, value));
+                    } else {
+                        fieldPredicates.add("c.form_data_json @> ?::jsonb");
+                        fieldArgs.add(containment(fieldId, value));
+                    }
+                }
+                case "min", "max" -> {
+                    if (!field.numeric()) {
+                        throw new SearchRequestException("Range filter on non-numeric field: " + fieldId);
+                    }
+                    fieldPredicates.add(field.numericExpression() + ("min".equals(operator) ? " >= ?" : " <= ?"));
+                    fieldArgs.add(parseNumber(key, value));
+                }
+                default -> throw new SearchRequestException("Unknown operator: " + key);
+            }
+        });
+        predicates.forEach((field, fieldPredicates) -> {
+            sql.append(" AND EXISTS (SELECT 1 FROM form_data_current c WHERE c.process_id = p.id AND c.step IN (")
+                    .append(String.join(", ", field.steps().stream().map(step -> "?").toList()))
+                    .append(") AND ")
+                    .append(String.join(" AND ", fieldPredicates))
+                    .append(')');
+            args.addAll(field.steps());
+            args.addAll(predicateArgs.get(field));
+        });
+
+        int limit = (int) Math.min(parseLong("limit", filters.getOrDefault("limit", String.valueOf(properties.getDefaultPageSize()))),
+                properties.getMaxPageSize());
+        if (limit < 1) {
+            throw new SearchRequestException("limit must be positive");
+        }
+        sql.append(" ORDER BY p.id LIMIT ?");
+        args.add(limit + 1);
+
+        List<ProcessSearchPage.Item> items = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new ProcessSearchPage.Item(
+                rs.getLong("id"),
+                rs.getString("process_type"),
+                rs.getString("current_state"),
+                toLocalDateTime(rs.getTimestamp("created_at")),
+                toLocalDateTime(rs.getTimestamp("updated_at"))), args.toArray());
+
+        if (items.size() > limit) {
+            List<ProcessSearchPage.Item> page = items.subList(0, limit);
+            return new ProcessSearchPage(List.copyOf(page), page.get(limit - 1).id());
+        }
+        return new ProcessSearchPage(items, null);
+    }
+
+    private String containment(String fieldId, String value) {
+        try {
+            return objectMapper.writeValueAsString(Map.of(fieldId, value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Map<String, SearchField> fields() {
+        FormConfigSnapshot config = formConfigs.current();
+        SearchFields cached = fields;
+        if (cached == null || !cached.version().equals(config.version())) {
+            cached = new SearchFields(config.version(), searchableFields(config.config()));
+            fields = cached;
+        }
+        return cached.byId();
+    }
+
+    private static Map<String, SearchField> searchableFields(FormFieldConfig formFieldConfig) {
+        Map<String, Set<String>> steps = new LinkedHashMap<>();
+        Map<String, Boolean> numeric = new HashMap<>();
+        formFieldConfig.getProcesses().values().forEach(processConfig ->
+                processConfig.getSteps().forEach((stepKey, stepConfig) -> {
+                    if (stepConfig.getFields() == null) {
+                        return;
+                    }
+                    for (FormFieldConfig.FieldConfig field : stepConfig.getFields()) {
+                        if (field.getId() == null || !SEARCHABLE_ID.matcher(field.getId()).matches()) {
+                            continue;
+                        }
+                        steps.computeIfAbsent(field.getId(), id -> new LinkedHashSet<>()).add(stepKey);
+                        numeric.merge(field.getId(), "number".equals(field.getType()), Boolean::logicalAnd);
+                    }
+                }));
+
+        Map<String, SearchField> fields = new HashMap<>();
+        steps.forEach((id, fieldSteps) -> fields.put(id, new SearchField(id, List.copyOf(fieldSteps), numeric.get(id))));
+        return Map.copyOf(fields);
+    }
+
+    private static long parseLong(String name, String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new SearchRequestException(name + " must be a whole number: " + value);
+        }
+    }
+
+    private static BigDecimal parseNumber(String name, String value) {
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new SearchRequestException(name + " must be a number: " + value);
+        }
+    }
+
+    private static LocalDate parseDate(String name, String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new SearchRequestException(name + " must be an ISO date: " + value);
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private record SearchFields(String version, Map<String, SearchField> byId) {
+    }
+
+    record SearchField(String id, Collection<String> steps, boolean numeric) {
+
+        /**
+         * Must stay identical to the indexed expression.
+         */
+        String numericExpression() {
+            return "form_numeric(c.form_data_json ->> '" + id + "')";
+        }
+    }
+
+}
@@ -1,185 +1,314 @@
 package com.example.demolition.service;
 
 import com.example.demolition.config.FormFieldConfig;
+import com.example.demolition.entity.CurrentFormData;
+import com.example.demolition.entity.CurrentFormDataId;
 import com.example.demolition.entity.FormData;
 import com.example.demolition.entity.Process;
+import com.example.demolition.repository.CurrentFormDataRepository;
 import com.example.demolition.repository.FormDataRepository;
 import com.example.demolition.repository.ProcessRepository;
+import com.example.demolition.repository.ProcessVersion;
 import com.example.demolition.statemachine.ProcessEvents;
+import com.example.demolition.statemachine.StateMachineEvents;
 import com.example.demolition.statemachine.ProcessStates;
+import com.example.demolition.statemachine.StateMachinePool;
+import com.example.demolition.statemachine.WorkflowModel;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.statemachine.StateMachine;
-import org.springframework.statemachine.config.StateMachineFactory;
-import org.springframework.statemachine.support.DefaultStateMachineContext;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 
 @Service
 public class ProcessService {
 
     private static final Logger logger = LoggerFactory.getLogger(ProcessService.class);
+    private static final byte[] EMPTY_OBJECT = {'{', '}'};
 
-    private final StateMachineFactory<ProcessStates, ProcessEvents> stateMachineFactory;
+    private final StateMachinePool stateMachinePool;
+    private final FormConfigRegistry formConfigs;
     private final ProcessRepository processRepository;
     private final FormDataRepository formDataRepository;
-    private final FormFieldConfig formFieldConfig;
+    private final CurrentFormDataRepository currentFormDataRepository;
     private final ObjectMapper objectMapper;
+    private final ProcessMetrics metrics;
+    private final ProcessLocks processLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final TransitionJournal transitionJournal;
+    private final ProcessArchive processArchive;
 
-    public ProcessService(StateMachineFactory<ProcessStates, ProcessEvents> stateMachineFactory,
+    public ProcessService(StateMachinePool stateMachinePool, FormConfigRegistry formConfigs,
                           ProcessRepository processRepository, FormDataRepository formDataRepository,
-                          FormFieldConfig formFieldConfig, ObjectMapper objectMapper) {
-        this.stateMachineFactory = stateMachineFactory;
+                          CurrentFormDataRepository currentFormDataRepository, ObjectMapper objectMapper, ProcessMetrics metrics,
+                          ProcessLocks processLocks, PlatformTransactionManager transactionManager,
+                          TransitionJournal transitionJournal, ProcessArchive processArchive) {
+        this.stateMachinePool = stateMachinePool;
+        this.formConfigs = formConfigs;
         this.processRepository = processRepository;
         this.formDataRepository = formDataRepository;
-        this.formFieldConfig = formFieldConfig;
+        this.currentFormDataRepository = currentFormDataRepository;
         this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        this.processLocks = processLocks;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transitionJournal = transitionJournal;
+        this.processArchive = processArchive;
     }
 
     @Transactional
     public Process startProcess(String processType) {
         Process process = new Process();
         process.setProcessType(processType);
-        process.setCurrentState(ProcessStates.PROCESS_SELECTION.name()); // ✅ Correct starting state
-        process = processRepository.save(process);
 
-        // Start state machine
-        StateMachine<ProcessStates, ProcessEvents> stateMachine = stateMachineFactory.getStateMachine();
-        stateMachine.getExtendedState().getVariables().put("processId", process.getId());
-        stateMachine.start();
+        // New processes use the current form configuration for their whole lifetime
+        FormConfigSnapshot config = formConfigs.current();
+        process.setConfigVersion(config.version());
 
-        // 🔥 Ensure `PROCESS_SELECTED` is sent and accepted!
-        boolean accepted = stateMachine.sendEvent(ProcessEvents.PROCESS_SELECTED);
-        logger.info("✅ Event sent: {}", accepted);
+        // 🔥 Ensure the start event is accepted before persisting, so the process is a single INSERT
+        WorkflowModel workflow = config.workflows().model(processType);
+        String newState = applyEvent(null, workflow, workflow.initialState(), workflow.startEvent());
+        logger.info("🚀 New state (after " + workflow.startEvent() + "): " + newState);
 
-        // Check and persist new state
-        ProcessStates newState = stateMachine.getState().getId();
-        logger.info("🚀 New state (after PROCESS_SELECTED): " + newState);
+        process.setCurrentState(newState);
+        processRepository.save(process);
+        transitionJournal.record(process.getId(), workflow.initialState(), newState, workflow.startEvent(), null);
+        return process;
+    }
+
+    /**
+     * Submits {@code step} under the process lock, in its own transaction. A transaction that loses the
+     * optimistic version check against another instance is retried once on fresh state; after that, or if
+     * the process has already moved past {@code step}, a {@link ProcessConflictException} is thrown.
+     * Invalid form data is rejected with a {@link FormValidationException} before anything is written.
+     *
+     * @param formData the request body as UTF-8 JSON, stored as is once validated; ignored for {@code BACK}
+     */
+    public Process submitStep(Long processId, String step, String uiEvent, byte[] formData) {
+        byte[] body = formData != null && formData.length > 0 ? formData : EMPTY_OBJECT;
+
+        // ✅ Steps unique to one process type are validated before taking the lock or opening a transaction,
+        // as long as this instance knows a single configuration version; a process started with another one,
+        // e.g. on another instance, is validated again against its own version below
+        FormConfigSnapshot single = formConfigs.single();
+        FormConfigSnapshot validatedWith = !"BACK".equals(uiEvent) && single != null && single.validator().canValidate(step)
+                ? single : null;
+        if (validatedWith != null) {
+            validatedWith.validator().validate(step, body);
+        }
 
-        process.setCurrentState(newState.name());
-        return processRepository.save(process);
+        Lock lock = processLocks.lock(processId);
+        try {
+            try {
+                return transactionTemplate.execute(status -> doSubmitStep(processId, step, uiEvent, body, validatedWith));
+            } catch (OptimisticLockingFailureException e) {
+                logger.info("🔁 Process " + processId + " was changed concurrently, retrying submit");
+            }
+            try {
+                return transactionTemplate.execute(status -> doSubmitStep(processId, step, uiEvent, body, validatedWith));
+            } catch (OptimisticLockingFailureException e) {
+                throw new ProcessConflictException("Process " + processId + " was changed concurrently", e);
+            }
+        } finally {
+            lock.unlock();
+        }
     }
 
-    @Transactional
-    public Process submitStep(Long processId, String step, String uiEvent, Map<String, Object> formData) {
+    private Process doSubmitStep(Long processId, String step, String uiEvent, byte[] formData, FormConfigSnapshot validatedWith) {
         Process process = processRepository.findById(processId)
                 .orElseThrow(() -> new RuntimeException("Process not found with id: " + processId));
 
+        // A duplicate or stale submit for a step the process has already left
+        FormConfigSnapshot config = formConfigs.forVersion(process.getConfigVersion());
+        WorkflowModel workflow = config.workflows().model(process.getProcessType());
+        String persistedState = process.getCurrentState();
+        requireStep(workflow, persistedState, step, "Process " + processId);
+
+        String processType = process.getProcessType();
+
         // If the event is not BACK, save form data
+        Long formDataId = null;
         if (!"BACK".equals(uiEvent)) {
+            if (validatedWith != config) {
+                config.validator().validate(processType, step, formData);
+            }
+
+            long formDataStart = metrics.start();
             FormData data = new FormData();
             data.setProcess(process);
             data.setStep(step);
-            data.setFormDataJson(objectMapper.valueToTree(formData));  // Convert Map to JsonNode
+            data.setFormDataJson(new String(formData, StandardCharsets.UTF_8));  // Validated above, stored without a tree
             formDataRepository.save(data);
+            formDataId = data.getId();
+
+            // Upsert the latest value for the step
+            currentFormDataRepository.save(new CurrentFormData(processId, step, data.getFormDataJson()));
+            metrics.recordPhase(ProcessMetrics.Phase.FORM_DATA, processType, formDataStart);
         }
 
         // Get event
-        ProcessEvents processEvent = getProcessEvent(uiEvent);
+        String processEvent = getProcessEvent(workflow, uiEvent);
         logger.info("🔄 Sending event: " + processEvent);
 
-        // Load the persisted state machine
-        StateMachine<ProcessStates, ProcessEvents> stateMachine = stateMachineFactory.getStateMachine(processId.toString());
-        try {
-            stateMachine.stop();
-
-            stateMachine.getStateMachineAccessor().doWithAllRegions(accessor -> {
-                accessor.resetStateMachine(
-                        new DefaultStateMachineContext<>(
-                                ProcessStates.valueOf(process.getCurrentState()),
-                                null,
-                                null,
-                                null
-                        )
-                );
-            });
-
-            stateMachine.start();
-        } catch (Exception e) {
-            throw new RuntimeException("❌ Failed to restore state machine", e);
-        }
-
-        // Log current state before sending event
-        ProcessStates currentState = stateMachine.getState().getId();
-        logger.info("🧐 Current state before event: " + currentState);
-
-        if (!currentState.equals(ProcessStates.valueOf(process.getCurrentState()))) {
-            throw new RuntimeException("❌ State machine is out of sync! DB state: "
-                    + process.getCurrentState() + ", State machine: " + currentState);
-        }
-
-        // Send event
-        boolean accepted = stateMachine.sendEvent(processEvent);
-        logger.info("✅ Event sent: " + accepted);
-
-        if (!accepted) {
-            throw new RuntimeException("❌ Event was not accepted by the state machine! Current state: " + currentState);
-        }
-
-        // Get new state after transition
-        ProcessStates newState = stateMachine.getState().getId();
+        long transitionStart = metrics.start();
+        String newState = applyEvent(processId, workflow, persistedState, processEvent);
+        metrics.recordPhase(ProcessMetrics.Phase.TRANSITION, processType, transitionStart);
         logger.info("🚀 New state (after event): " + newState);
 
-        // Persist new state
+        // Persist new state, conditional on the version read above. Inserts are batched until flush,
+        // so this also covers the form data writes
+        long persistStart = metrics.start();
         try {
-            process.setCurrentState(newState.name());
+            process.setCurrentState(newState);
             processRepository.save(process);
+            processRepository.flush();
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("❌ Failed to persist state machine", e);
         }
+        metrics.recordPhase(ProcessMetrics.Phase.PERSIST, processType, persistStart);
+        transitionJournal.record(processId, persistedState, newState, processEvent, formDataId);
 
         logger.info("💾 State saved in DB: " + process.getCurrentState());
         return process;
     }
 
-    @Transactional(readOnly = true)
-    public Map<String, Object> getFormDefinition(Long processId) {
-        Process process = processRepository.findById(processId)
-                .orElseThrow(() -> new RuntimeException("Process not found with id: " + processId));
-
-        ProcessStates currentState = ProcessStates.valueOf(process.getCurrentState());
-        String stepKey = stateToStepKey(currentState);
-
-        FormFieldConfig.ProcessConfig processConfig = formFieldConfig.getProcesses().get(process.getProcessType());
-        if (processConfig == null) {
-            throw new RuntimeException("Process type not configured: " + process.getProcessType());
+    /**
+     * Creates and advances a chunk of applications in one transaction, using the same transition rules
+     * as {@link #submitStep}. Every application is replayed in memory first, so a rejected one is only
+     * reported and nothing of it is written; the accepted ones are persisted with batched inserts.
+     */
+    @Transactional
+    public List<ImportResult> importApplications(List<ImportedApplication> applications, int firstIndex) {
+        FormConfigSnapshot config = formConfigs.current();
+        List<ImportResult> results = new ArrayList<>(applications.size());
+        for (int i = 0; i < applications.size(); i++) {
+            ImportedApplication application = applications.get(i);
+            try {
+                WorkflowModel workflow = config.workflows().model(application.processType());
+
+                // States visited, starting with the initial state
+                List<String> states = new ArrayList<>(application.steps().size() + 2);
+                states.add(workflow.initialState());
+                states.add(applyEvent(null, workflow, workflow.initialState(), workflow.startEvent()));
+                for (ImportedApplication.Step step : application.steps()) {
+                    // Same check as a submit: the data and the event must belong to the step the replay is at
+                    requireStep(workflow, states.get(states.size() - 1), step.step(), "Application");
+                    if (!"BACK".equals(step.event())) {
+                        config.validator().validate(application.processType(), step.step(), toJson(step.data()));
+                    }
+                    states.add(applyEvent(null, workflow, states.get(states.size() - 1), getProcessEvent(workflow, step.event())));
+                }
+
+                Process process = new Process();
+                process.setProcessType(application.processType());
+                process.setConfigVersion(config.version());
+                process.setCurrentState(states.get(states.size() - 1));
+                processRepository.save(process);
+
+                transitionJournal.record(process.getId(), states.get(0), states.get(1), workflow.startEvent(), null);
+
+                // History rows and journal entries in submit order, then one current row per step
+                Map<String, String> latestByStep = new LinkedHashMap<>();
+                for (int s = 0; s < application.steps().size(); s++) {
+                    ImportedApplication.Step step = application.steps().get(s);
+                    Long formDataId = null;
+                    if (!"BACK".equals(step.event())) {
+                        FormData data = new FormData();
+                        data.setProcess(process);
+                        data.setStep(step.step());
+                        data.setFormDataJson(new String(toJson(step.data()), StandardCharsets.UTF_8));
+                        formDataRepository.save(data);
+                        formDataId = data.getId();
+                        latestByStep.put(step.step(), data.getFormDataJson());
+                    }
+                    transitionJournal.record(process.getId(), states.get(s + 1), states.get(s + 2),
+                            step.event(), formDataId);
+                }
+                latestByStep.forEach((step, json) ->
+                        currentFormDataRepository.save(new CurrentFormData(process.getId(), step, json)));
+
+                results.add(ImportResult.imported(firstIndex + i, process));
+            } catch (RuntimeException e) {
+                results.add(ImportResult.failed(firstIndex + i, e.getMessage()));
+            }
         }
+        return results;
+    }
 
-        FormFieldConfig.StepConfig stepConfig = processConfig.getSteps().get(stepKey);
-        if (stepConfig == null) {
-            throw new RuntimeException("Step not configured: " + stepKey);
+    /**
+     * @param subject names the process in the message
+     * @throws ProcessConflictException if {@code state} does not show {@code step}
+     */
+    private static void requireStep(WorkflowModel workflow, String state, String step, String subject) {
+        if (!step.equals(workflow.stepKey(state))) {
+            throw new ProcessConflictException(subject + " is in state " + state + ", not at step " + step);
         }
+    }
 
-        Map<String, Object> result = new HashMap<>();
-        result.put("processId", processId);
-        result.put("processType", process.getProcessType());
-        result.put("currentState", currentState.name());
-        result.put("step", stepKey);
-        result.put("title", stepConfig.getTitle());
-        result.put("fields", stepConfig.getFields());
-        result.put("actions", stepConfig.getActions());
+    /**
+     * Validators for the form and summary responses of a process. Reads only the version columns, so
+     * conditional requests can be answered without loading form data or rendering anything.
+     */
+    @Transactional(readOnly = true)
+    public CacheValidators getCacheValidators(Long processId) {
+        ProcessVersion version = processRepository.findVersionById(processId)
+                .or(() -> processArchive.findVersion(processId))
+                .orElseThrow(() -> new RuntimeException("Process not found with id: " + processId));
+        return CacheValidators.of(version, formConfigs.forVersion(version.configVersion()).version());
+    }
+
+    @Transactional(readOnly = true)
+    public byte[] getFormDefinition(Long processId) {
+        Process process = processRepository.findById(processId)
+                .or(() -> processArchive.findProcess(processId).map(ProcessArchive.ArchivedProcess::process))
+                .orElseThrow(() -> new RuntimeException("Process not found with id: " + processId));
+
+        String currentState = process.getCurrentState();
+        FormConfigSnapshot config = formConfigs.forVersion(process.getConfigVersion());
+        String stepKey = stateToStepKey(config.workflows().model(process.getProcessType()), currentState);
 
         // Add previously saved data if available
-        List<FormData> previousData = formDataRepository.findByProcessIdAndStep(processId, stepKey);
-        if (!previousData.isEmpty()) {
-            result.put("data", previousData.get(0).getFormDataJson());
-        }
+        String data = currentFormDataRepository.findById(new CurrentFormDataId(processId, stepKey))
+                .map(CurrentFormData::getFormDataJson)
+                .orElse(null);
 
-        return result;
+        return config.definitions().render(processId, currentState, process.getProcessType(), stepKey, data);
     }
 
     @Transactional(readOnly = true)
     public Map<String, Object> getProcessSummary(Long processId) {
-        Process process = processRepository.findById(processId)
-                .orElseThrow(() -> new RuntimeException("Process not found"));
+        Process process;
+        List<CurrentFormData> currentFormData;
+        Optional<Process> live = processRepository.findById(processId);
+        if (live.isPresent()) {
+            process = live.get();
+            currentFormData = currentFormDataRepository.findByIdProcessId(processId);
+        } else {
+            // Finished processes are moved to the archive after a while
+            ProcessArchive.ArchivedProcess archived = processArchive.findProcess(processId)
+                    .orElseThrow(() -> new RuntimeException("Process not found"));
+            process = archived.process();
+            currentFormData = archived.currentFormData();
+        }
 
         Map<String, Object> summary = new LinkedHashMap<>();
         summary.put("processId", process.getId());
@@ -187,25 +316,27 @@ public class ProcessService {
         summary.put("currentState", process.getCurrentState());
 
         // Retrieve step configuration from YAML
-        FormFieldConfig.ProcessConfig processConfig = formFieldConfig.getProcesses().get(process.getProcessType());
+        FormFieldConfig.ProcessConfig processConfig = formConfigs.forVersion(process.getConfigVersion())
+                .config().getProcesses().get(process.getProcessType());
         if (processConfig == null) {
             throw new RuntimeException("Process configuration not found for type: " + process.getProcessType());
         }
 
         Map<String, FormFieldConfig.StepConfig> stepConfigMap = processConfig.getSteps();
 
-        // Keep only the latest entry per step
-        Map<String, FormData> latestFormData = new HashMap<>();
-        for (FormData entry : process.getFormDataList()) {
-            latestFormData.put(entry.getStep(), entry);  // Always replaces with the latest entry
+        // Latest entry per step, one row each in the current-value store
+        Map<String, CurrentFormData> latestFormData = new HashMap<>();
+        for (CurrentFormData entry : currentFormData) {
+            latestFormData.put(entry.getStep(), entry);
         }
 
        // Sort steps based on YAML configuration order
-        Map<String, JsonNode> sortedFormData = stepConfigMap.keySet().stream()
+        // Stored JSON text is written out raw, never parsed into a tree
+        Map<String, RawValue> sortedFormData = stepConfigMap.keySet().stream()
                 .filter(latestFormData::containsKey)
                 .collect(Collectors.toMap(
                         step -> step,
-                        step -> latestFormData.get(step).getFormDataJson(),
+                        step -> new RawValue(latestFormData.get(step).getFormDataJson()),
                         (existing, replacement) -> existing,
                         LinkedHashMap::new
                 ));
@@ -222,46 +353,100 @@ public class ProcessService {
         return summary;
     }
 
-    private ProcessEvents getProcessEvent(String event) {
-        return switch (event) {
-            case "STEP_ONE_SUBMIT" -> ProcessEvents.STEP_ONE_SUBMIT;
-            case "STEP_TWO_SUBMIT" -> ProcessEvents.STEP_TWO_SUBMIT;
-            case "STEP_THREE_SUBMIT" -> ProcessEvents.STEP_THREE_SUBMIT;
-            case "FINAL_SUBMIT" -> ProcessEvents.FINAL_SUBMIT;
-            case "BACK" -> ProcessEvents.BACK;
-            default -> throw new IllegalArgumentException("Invalid event: " + event);
-        };
+    /**
+     * Applies {@code event} through the compiled workflow of the process type. Only transitions with guards
+     * or actions in the state machine model need a real state machine.
+     */
+    private String applyEvent(Long processId, WorkflowModel workflow, String currentState, String event) {
+        long start = metrics.start();
+        String newState = workflow.requiresStateMachine(currentState, event)
+                ? sendThroughStateMachine(processId, workflow.processType(), ProcessStates.valueOf(currentState), ProcessEvents.valueOf(event))
+                : workflow.target(currentState, event);
+
+        if (newState == null) {
+            metrics.recordRejected(workflow.processType(), currentState, event);
+            throw new RuntimeException("❌ Event was not accepted by the state machine! Current state: " + currentState);
+        }
+        metrics.recordTransition(workflow.processType(), currentState, event, newState, start);
+        return newState;
     }
 
-    private String stateToStepKey(ProcessStates state) {
-        return switch (state) {
-            case STEP_ONE -> "step_one";
-            case STEP_TWO -> "step_two";
-            case STEP_THREE -> "step_three";
-            case SUBMISSION -> "submission";
-            case PROCESS_SELECTION -> "selection";
-            default -> throw new IllegalArgumentException("No step key for state: " + state);
-        };
+    /**
+     * @return the new state, or {@code null} if the machine did not accept {@code event}
+     */
+    private String sendThroughStateMachine(Long processId, String processType, ProcessStates persistedState, ProcessEvents event) {
+        // Borrow a pooled state machine rehydrated from the persisted state
+        long restoreStart = metrics.start();
+        StateMachine<ProcessStates, ProcessEvents> stateMachine;
+        try {
+            stateMachine = stateMachinePool.borrow(processId, persistedState);
+        } catch (Exception e) {
+            throw new RuntimeException("❌ Failed to restore state machine", e);
+        }
+        metrics.recordPhase(ProcessMetrics.Phase.RESTORE, processType, restoreStart);
+
+        try {
+            // Log current state before sending event
+            ProcessStates currentState = stateMachine.getState().getId();
+            logger.info("🧐 Current state before event: " + currentState);
+
+            if (!currentState.equals(persistedState)) {
+                metrics.recordOutOfSync(processType, persistedState.name(), event.name(), currentState.name());
+                throw new RuntimeException("❌ State machine is out of sync! DB state: "
+                        + persistedState + ", State machine: " + currentState);
+            }
+
+            // Send event
+            boolean accepted = StateMachineEvents.send(stateMachine, event);
+            logger.info("✅ Event sent: " + accepted);
+
+            return accepted ? stateMachine.getState().getId().name() : null;
+        } finally {
+            stateMachinePool.release(stateMachine);
+        }
     }
 
-    @Transactional
-    public void triggerEvent(Long processId, ProcessEvents event) {
-        Process process = processRepository.findById(processId)
-                .orElseThrow(() -> new RuntimeException("Process not found with id: " + processId));
+    /**
+     * Imported step data as JSON bytes, an empty object if the step has none.
+     */
+    private byte[] toJson(JsonNode data) {
+        if (data == null) {
+            return EMPTY_OBJECT;
+        }
+        try {
+            return objectMapper.writeValueAsBytes(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize imported step data", e);
+        }
+    }
 
-        StateMachine<ProcessStates, ProcessEvents> stateMachine = stateMachineFactory.getStateMachine();
-        stateMachine.getExtendedState().getVariables().put("processId", processId);
+    private String getProcessEvent(WorkflowModel workflow, String event) {
+        if (!workflow.hasEvent(event)) {
+            throw new IllegalArgumentException("Invalid event: " + event);
+        }
+        return event;
+    }
 
-        // Start the state machine
-        stateMachine.start();
+    private String stateToStepKey(WorkflowModel workflow, String state) {
+        String stepKey = workflow.stepKey(state);
+        if (stepKey == null) {
+            throw new IllegalArgumentException("No step key for state: " + state);
+        }
+        return stepKey;
+    }
 
-        // Send the event
-        stateMachine.sendEvent(event);
+    @Transactional
+    public void triggerEvent(Long processId, String event) {
+        Process process = processRepository.findById(processId)
+                .orElseThrow(() -> new RuntimeException("Process not found with id: " + processId));
 
-        // Update process state
-        ProcessStates newState = stateMachine.getState().getId();
-        process.setCurrentState(newState.name());
+        // Apply the event to the persisted state and update the process
+        String currentState = process.getCurrentState();
+        WorkflowModel workflow = formConfigs.forVersion(process.getConfigVersion()).workflows().model(process.getProcessType());
+        String newState = applyEvent(processId, workflow, currentState, event);
+        process.setCurrentState(newState);
         processRepository.save(process);
+        transitionJournal.record(processId, currentState, newState, event, null);
     }
 
 }
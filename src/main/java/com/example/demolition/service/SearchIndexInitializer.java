@@ -0,0 +1,80 @@
+package com.example.demolition.service;
+
+import com.example.demolition.config.ProcessSearchProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.CRC32;
+
+/**
+ * Creates the indexes behind {@link ProcessSearchService} once the schema is in place.
+ * <p>
+ * Indexes are built {@code CONCURRENTLY}, so an existing table stays writable while they are built.
+ * {@code form_numeric} returns {@code null} for values that are not numbers, so a malformed submit can
+ * never fail because of an index. Numeric fields are those of the form configuration current at startup;
+ * a number field added by a later reload is searchable at once and indexed on the next start.
+ */
+@Component
+public class SearchIndexInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexInitializer.class);
+
+    private static final String FORM_NUMERIC_FUNCTION =
+            "CREATE OR REPLACE FUNCTION form_numeric(value text) RETURNS numeric " +
+            "LANGUAGE plpgsql IMMUTABLE STRICT PARALLEL SAFE AS $$ " +
+            "BEGIN RETURN value::numeric; EXCEPTION WHEN others THEN RETURN NULL; END $$";
+
+    private static final String NUMERIC_INDEX_PREFIX = "idx_form_data_current_num_";
+
+    // Postgres truncates longer identifiers, which could make two names equal again
+    private static final int MAX_IDENTIFIER_LENGTH = 63;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProcessSearchService processSearchService;
+    private final ProcessSearchProperties properties;
+
+    public SearchIndexInitializer(JdbcTemplate jdbcTemplate, ProcessSearchService processSearchService,
+                                  ProcessSearchProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.processSearchService = processSearchService;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        if (!properties.isCreateIndexes()) {
+            return;
+        }
+
+        jdbcTemplate.execute(FORM_NUMERIC_FUNCTION);
+        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_form_data_current_json " +
+                "ON form_data_current USING gin (form_data_json jsonb_path_ops)");
+        for (String field : processSearchService.numericFields()) {
+            jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + numericIndexName(field) +
+                    " ON form_data_current (form_numeric(form_data_json ->> '" + field + "'))");
+            // Named after the lower-cased id alone before, which fields differing only in case shared
+            jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + NUMERIC_INDEX_PREFIX + field.toLowerCase());
+        }
+        logger.info("Search indexes in place for numeric fields {}", processSearchService.numericFields());
+    }
+
+    /**
+     * Index of one numeric field. Field ids are case-sensitive and unquoted identifiers are not, so the name
+     * ends in a checksum of the exact id; the readable part is cut to keep it within the identifier length.
+     */
+    static String numericIndexName(String field) {
+        CRC32 checksum = new CRC32();
+        checksum.update(field.getBytes(StandardCharsets.UTF_8));
+        String suffix = String.format("_%08x", checksum.getValue());
+        String readable = field.toLowerCase(Locale.ROOT);
+        int room = MAX_IDENTIFIER_LENGTH - NUMERIC_INDEX_PREFIX.length() - suffix.length();
+        return NUMERIC_INDEX_PREFIX + readable.substring(0, Math.min(readable.length(), room)) + suffix;
+    }
+
+}
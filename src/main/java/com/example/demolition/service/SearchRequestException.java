@@ -0,0 +1,16 @@
+package com.example.demolition.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A search filter that does not match the configured form fields.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class SearchRequestException extends RuntimeException {
+
+    public SearchRequestException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,204 @@
+package com.example.demolition.service;
+
+import com.example.demolition.config.TransitionJournalProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-behind journal of state transitions in {@code process_transitions}.
+ * <p>
+ * Durability: an entry is only queued once the transaction that changed the state has committed, so the
+ * journal never contains transitions that were rolled back. Queued entries reach the database within
+ * {@code flush-interval}, or as soon as a full batch is ready, as one batched insert (rewritten into
+ * multi-row inserts by the driver). Shutdown drains the queue after the web server has stopped; entries
+ * still queued when the JVM dies are lost, and {@code processes.current_state} stays the source of truth.
+ * <p>
+ * Backpressure: the queue is bounded. A caller that finds it full writes its own entry synchronously,
+ * which slows producers down to the speed of the database instead of dropping entries.
+ */
+@Component
+public class TransitionJournal implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransitionJournal.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO process_transitions (process_id, from_state, to_state, event, form_data_id, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransitionJournalProperties properties;
+
+    private final Queue<Entry> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Counter overflows;
+    private final Counter failures;
+
+    private volatile boolean running;
+    private volatile Thread writer;
+
+    public TransitionJournal(JdbcTemplate jdbcTemplate, TransitionJournalProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+
+        this.overflows = Counter.builder("process.journal.overflows")
+                .description("Entries written by the caller because the queue was full")
+                .register(meterRegistry);
+        this.failures = Counter.builder("process.journal.failures")
+                .description("Entries that could not be written")
+                .register(meterRegistry);
+        Gauge.builder("process.journal.queued", queued, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Journals a transition once the current transaction commits, or right away outside of one.
+     *
+     * @param formDataId the history row submitted with the event, or {@code null}
+     */
+    public void record(Long processId, String from, String to, String event, Long formDataId) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Entry entry = new Entry(processId, from, to, event, formDataId, Instant.now());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(entry);
+                }
+            });
+        } else {
+            enqueue(entry);
+        }
+    }
+
+    /**
+     * Writes everything queued so far on the calling thread.
+     */
+    public void flush() {
+        List<Entry> batch;
+        while (!(batch = drain()).isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void enqueue(Entry entry) {
+        if (!running || queued.incrementAndGet() > properties.getCapacity()) {
+            if (running) {
+                queued.decrementAndGet();
+                overflows.increment();
+            }
+            write(List.of(entry));
+            return;
+        }
+        queue.offer(entry);
+        if (queued.get() >= properties.getBatchSize()) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private List<Entry> drain() {
+        List<Entry> batch = new ArrayList<>(Math.min(queued.get(), properties.getBatchSize()));
+        Entry entry;
+        while (batch.size() < properties.getBatchSize() && (entry = queue.poll()) != null) {
+            batch.add(entry);
+        }
+        queued.addAndGet(-batch.size());
+        return batch;
+    }
+
+    private void write(List<Entry> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, entry) -> {
+                ps.setLong(1, entry.processId());
+                ps.setString(2, entry.from());
+                ps.setString(3, entry.to());
+                ps.setString(4, entry.event());
+                if (entry.formDataId() != null) {
+                    ps.setLong(5, entry.formDataId());
+                } else {
+                    ps.setNull(5, Types.BIGINT);
+                }
+                ps.setTimestamp(6, Timestamp.from(entry.createdAt()));
+            });
+        } catch (RuntimeException e) {
+            failures.increment(batch.size());
+            logger.error("❌ Failed to write {} journal entries", batch.size(), e);
+        }
+    }
+
+    private void runWriter() {
+        long intervalNanos = properties.getFlushInterval().toNanos();
+        while (running) {
+            List<Entry> batch = drain();
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+            if (batch.size() < properties.getBatchSize()) {
+                LockSupport.parkNanos(this, intervalNanos);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::runWriter, "transition-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(properties.getFlushInterval().toMillis() * 10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        logger.info("Transition journal drained");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server, so no request can journal into a stopped writer.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private record Entry(Long processId, String from, String to, String event, Long formDataId, Instant createdAt) {
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.example.demolition.service;
+
+import com.example.demolition.entity.Process;
+import com.example.demolition.entity.ProcessTransition;
+import com.example.demolition.repository.ProcessRepository;
+import com.example.demolition.repository.ProcessTransitionRepository;
+import com.example.demolition.statemachine.WorkflowModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Checks {@code Process.currentState} against the transition journal.
+ * <p>
+ * The journal is written behind the transaction and the entries of a submit may still be queued on another
+ * instance, so a journal that disagrees with a valid stored state is only reported: the stored state is more
+ * likely to be right. It is replaced only when it is missing or not a state of the workflow, and then with a
+ * conditional update on the version that was read, so a concurrent submit on any instance wins.
+ */
+@Service
+public class TransitionReplayService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransitionReplayService.class);
+
+    private final ProcessRepository processRepository;
+    private final ProcessTransitionRepository processTransitionRepository;
+    private final TransitionJournal transitionJournal;
+    private final ProcessLocks processLocks;
+    private final FormConfigRegistry formConfigs;
+    private final TransactionTemplate transactionTemplate;
+
+    public TransitionReplayService(ProcessRepository processRepository, ProcessTransitionRepository processTransitionRepository,
+                                   TransitionJournal transitionJournal, ProcessLocks processLocks, FormConfigRegistry formConfigs,
+                                   PlatformTransactionManager transactionManager) {
+        this.processRepository = processRepository;
+        this.processTransitionRepository = processTransitionRepository;
+        this.transitionJournal = transitionJournal;
+        this.processLocks = processLocks;
+        this.formConfigs = formConfigs;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Folds the journal of one process from the initial state of its workflow. Entries still queued on this
+     * instance are written first; each entry must start where the previous one ended.
+     *
+     * @throws ProcessConflictException if the process changed while a missing or invalid state was repaired
+     */
+    public JournalReplay replay(Long processId) {
+        Lock lock = processLocks.lock(processId);
+        try {
+            transitionJournal.flush();
+            return transactionTemplate.execute(status -> {
+                Process process = processRepository.findById(processId)
+                        .orElseThrow(() -> new RuntimeException("Process not found with id: " + processId));
+
+                List<ProcessTransition> journal = processTransitionRepository.findByProcessIdOrderByCreatedAtAscIdAsc(processId);
+                if (journal.isEmpty()) {
+                    throw new RuntimeException("No journal entries for process: " + processId);
+                }
+
+                WorkflowModel workflow = formConfigs.forVersion(process.getConfigVersion()).workflows()
+                        .model(process.getProcessType());
+                String state = workflow.initialState();
+                for (ProcessTransition transition : journal) {
+                    if (!state.equals(transition.getFromState())) {
+                        throw new RuntimeException("❌ Journal of process " + processId + " is broken at entry "
+                                + transition.getId() + ": expected a transition from " + state
+                                + ", found " + transition.getFromState());
+                    }
+                    state = transition.getToState();
+                }
+
+                String storedState = process.getCurrentState();
+                if (state.equals(storedState)) {
+                    return new JournalReplay(processId, storedState, state, journal.size(), process.getVersion(), false);
+                }
+                if (isKnown(workflow, storedState)) {
+                    logger.warn("⚠️ Journal of process {} ends in {} but its state is {}; left unchanged",
+                            processId, state, storedState);
+                    return new JournalReplay(processId, storedState, state, journal.size(), process.getVersion(), false);
+                }
+
+                logger.warn("🔧 Process {} restored from {} to {} by journal replay", processId, storedState, state);
+                process.setCurrentState(state);
+                // Flushed as UPDATE ... WHERE version = ?, against the version read above
+                processRepository.saveAndFlush(process);
+                return new JournalReplay(processId, storedState, state, journal.size(), process.getVersion(), true);
+            });
+        } catch (OptimisticLockingFailureException e) {
+            throw new ProcessConflictException("Process " + processId + " was changed during the journal replay", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static boolean isKnown(WorkflowModel workflow, String state) {
+        return state != null && (workflow.stepKey(state) != null || workflow.isEnd(state));
+    }
+
+}
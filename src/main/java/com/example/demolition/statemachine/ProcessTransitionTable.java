@@ -0,0 +1,110 @@
+package com.example.demolition.statemachine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.config.StateMachineFactory;
+import org.springframework.statemachine.transition.Transition;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transition table compiled once from the configured state machine model.
+ * <p>
+ * Plain source/event/target transitions are resolved with two {@link EnumMap} lookups, so callers can
+ * apply them without borrowing a machine. Transitions that carry guards or actions are only flagged here
+ * and must still go through the real state machine.
+ * <p>
+ * At startup every (state, event) pair is replayed against a machine and compared with the table, so the
+ * fast path can never drift from {@code StateMachineConfig}.
+ */
+@Component
+public class ProcessTransitionTable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessTransitionTable.class);
+
+    private final Map<ProcessStates, EnumMap<ProcessEvents, ProcessStates>> targets = new EnumMap<>(ProcessStates.class);
+    private final Map<ProcessStates, EnumSet<ProcessEvents>> machineOnly = new EnumMap<>(ProcessStates.class);
+
+    public ProcessTransitionTable(StateMachineFactory<ProcessStates, ProcessEvents> stateMachineFactory,
+                                  StateMachinePool stateMachinePool) {
+        for (ProcessStates state : ProcessStates.values()) {
+            targets.put(state, new EnumMap<>(ProcessEvents.class));
+            machineOnly.put(state, EnumSet.noneOf(ProcessEvents.class));
+        }
+
+        StateMachine<ProcessStates, ProcessEvents> model = stateMachineFactory.getStateMachine();
+        try {
+            compile(model);
+        } finally {
+            model.stopReactively().block();
+        }
+
+        verify(stateMachinePool);
+    }
+
+    /**
+     * @return true if the transition has guards or actions and must be executed by a state machine
+     */
+    public boolean requiresStateMachine(ProcessStates source, ProcessEvents event) {
+        return machineOnly.get(source).contains(event);
+    }
+
+    /**
+     * @return the target state, or {@code null} if {@code event} is not accepted in {@code source}
+     */
+    public ProcessStates target(ProcessStates source, ProcessEvents event) {
+        return targets.get(source).get(event);
+    }
+
+    private void compile(StateMachine<ProcessStates, ProcessEvents> model) {
+        for (Transition<ProcessStates, ProcessEvents> transition : model.getTransitions()) {
+            if (transition.getTrigger() == null || transition.getTrigger().getEvent() == null) {
+                continue;
+            }
+            ProcessStates source = transition.getSource().getId();
+            ProcessEvents event = transition.getTrigger().getEvent();
+            boolean hasActions = transition.getActions() != null && !transition.getActions().isEmpty();
+
+            if (transition.getGuard() != null || hasActions || targets.get(source).containsKey(event)) {
+                // Guarded, acting or competing transitions are left to the state machine
+                targets.get(source).remove(event);
+                machineOnly.get(source).add(event);
+            } else if (!machineOnly.get(source).contains(event)) {
+                targets.get(source).put(event, transition.getTarget().getId());
+            }
+        }
+    }
+
+    private void verify(StateMachinePool stateMachinePool) {
+        List<String> mismatches = new ArrayList<>();
+        for (ProcessStates source : ProcessStates.values()) {
+            for (ProcessEvents event : ProcessEvents.values()) {
+                if (requiresStateMachine(source, event)) {
+                    continue;
+                }
+                StateMachine<ProcessStates, ProcessEvents> stateMachine = stateMachinePool.borrow(null, source);
+                try {
+                    ProcessStates actual = StateMachineEvents.send(stateMachine, event) ? stateMachine.getState().getId() : null;
+                    ProcessStates expected = target(source, event);
+                    if (expected != actual) {
+                        mismatches.add(source + " --" + event + "--> table: " + expected + ", machine: " + actual);
+                    }
+                } finally {
+                    stateMachinePool.release(stateMachine);
+                }
+            }
+        }
+
+        if (!mismatches.isEmpty()) {
+            throw new IllegalStateException("Transition table does not match the state machine model: " + mismatches);
+        }
+        logger.info("Transition table verified against the state machine model");
+    }
+
+}
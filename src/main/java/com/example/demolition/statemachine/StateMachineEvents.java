@@ -0,0 +1,33 @@
+package com.example.demolition.statemachine;
+
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.StateMachineEventResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Sends events through the reactive {@code sendEvent(Mono<Message<E>>)} API.
+ */
+public final class StateMachineEvents {
+
+    private StateMachineEvents() {
+    }
+
+    /**
+     * @return whether any region of the machine accepted {@code event}
+     */
+    public static Mono<Boolean> sendReactively(StateMachine<ProcessStates, ProcessEvents> stateMachine, ProcessEvents event) {
+        Flux<StateMachineEventResult<ProcessStates, ProcessEvents>> results =
+                stateMachine.sendEvent(Mono.just(MessageBuilder.withPayload(event).build()));
+        return results.any(result -> result.getResultType() == StateMachineEventResult.ResultType.ACCEPTED);
+    }
+
+    /**
+     * Blocking variant of {@link #sendReactively}, for callers already running on a blocking thread.
+     */
+    public static boolean send(StateMachine<ProcessStates, ProcessEvents> stateMachine, ProcessEvents event) {
+        return Boolean.TRUE.equals(sendReactively(stateMachine, event).block());
+    }
+
+}
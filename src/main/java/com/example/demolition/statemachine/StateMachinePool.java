@@ -0,0 +1,158 @@
+package com.example.demolition.statemachine;
+
+import com.example.demolition.config.StateMachinePoolProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.statemachine.StateMachine;
+import org.springframework.statemachine.config.StateMachineFactory;
+import org.springframework.statemachine.support.DefaultStateMachineContext;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded pool of pre-built state machines.
+ * <p>
+ * Building a machine through the factory is expensive, so machines are kept warm between requests.
+ * A borrowed machine is rehydrated to the given state and must be handed back with {@link #release}.
+ * Idle machines are reused most-recently-released first, so the ones at the tail age out and are
+ * evicted once they have been idle longer than the configured timeout.
+ */
+@Component
+public class StateMachinePool {
+
+    private static final Logger logger = LoggerFactory.getLogger(StateMachinePool.class);
+
+    private final StateMachineFactory<ProcessStates, ProcessEvents> stateMachineFactory;
+    private final StateMachinePoolProperties properties;
+
+    private final BlockingDeque<IdleMachine> idle = new LinkedBlockingDeque<>();
+    private final Semaphore permits;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Timer waitTimer;
+
+    public StateMachinePool(StateMachineFactory<ProcessStates, ProcessEvents> stateMachineFactory,
+                            StateMachinePoolProperties properties, MeterRegistry meterRegistry) {
+        this.stateMachineFactory = stateMachineFactory;
+        this.properties = properties;
+        this.permits = new Semaphore(properties.getMaxSize(), true);
+
+        this.hits = Counter.builder("statemachine.pool.borrow").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("statemachine.pool.borrow").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("statemachine.pool.evictions").register(meterRegistry);
+        this.waitTimer = Timer.builder("statemachine.pool.wait").register(meterRegistry);
+        Gauge.builder("statemachine.pool.idle", idle, BlockingDeque::size).register(meterRegistry);
+        Gauge.builder("statemachine.pool.active", permits,
+                p -> properties.getMaxSize() - p.availablePermits()).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        for (int i = 0; i < properties.getMinIdle(); i++) {
+            StateMachine<ProcessStates, ProcessEvents> stateMachine = stateMachineFactory.getStateMachine();
+            stateMachine.stopReactively().block();
+            idle.offerLast(new IdleMachine(stateMachine, System.nanoTime()));
+        }
+        logger.info("State machine pool warmed up with {} machines", properties.getMinIdle());
+    }
+
+    /**
+     * Borrows a machine and rehydrates it to {@code state} with {@code processId} (if any) in its extended state.
+     */
+    public StateMachine<ProcessStates, ProcessEvents> borrow(Long processId, ProcessStates state) {
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(properties.getMaxWait().toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new IllegalStateException("Timed out waiting for a pooled state machine");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pooled state machine", e);
+        }
+        waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        try {
+            IdleMachine pooled = idle.pollFirst();
+            StateMachine<ProcessStates, ProcessEvents> stateMachine;
+            if (pooled != null) {
+                hits.increment();
+                stateMachine = pooled.stateMachine();
+            } else {
+                misses.increment();
+                stateMachine = stateMachineFactory.getStateMachine();
+            }
+            rehydrate(stateMachine, processId, state);
+            return stateMachine;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a borrowed machine. Machines that ended in error or in an end state are discarded instead of pooled.
+     */
+    public void release(StateMachine<ProcessStates, ProcessEvents> stateMachine) {
+        try {
+            // Check before stopping, a stopped machine always reports itself as complete
+            boolean complete = stateMachine.isComplete();
+            stateMachine.stopReactively().block();
+            stateMachine.getExtendedState().getVariables().clear();
+            if (stateMachine.hasStateMachineError()) {
+                logger.warn("Discarding state machine {} that ended in error", stateMachine.getUuid());
+            } else if (complete) {
+                // A machine that reached an end state does not accept events again after a reset
+                logger.debug("Discarding state machine {} that reached an end state", stateMachine.getUuid());
+            } else {
+                idle.offerFirst(new IdleMachine(stateMachine, System.nanoTime()));
+            }
+        } finally {
+            permits.release();
+            evictExpired();
+        }
+    }
+
+    private void rehydrate(StateMachine<ProcessStates, ProcessEvents> stateMachine, Long processId, ProcessStates state) {
+        DefaultStateMachineContext<ProcessStates, ProcessEvents> context = new DefaultStateMachineContext<>(state, null, null, null);
+        stateMachine.stopReactively()
+                .thenMany(Flux.fromIterable(stateMachine.getStateMachineAccessor().withAllRegions())
+                        .flatMap(region -> region.resetStateMachineReactively(context)))
+                .then(Mono.fromRunnable(() -> {
+                    stateMachine.getExtendedState().getVariables().clear();
+                    if (processId != null) {
+                        stateMachine.getExtendedState().getVariables().put("processId", processId);
+                    }
+                }))
+                .then(stateMachine.startReactively())
+                .block();
+    }
+
+    private void evictExpired() {
+        long deadline = System.nanoTime() - properties.getIdleTimeout().toNanos();
+        IdleMachine oldest;
+        while (idle.size() > properties.getMinIdle()
+                && (oldest = idle.peekLast()) != null
+                && oldest.releasedAt() - deadline < 0) {
+            if (idle.removeLastOccurrence(oldest)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private record IdleMachine(StateMachine<ProcessStates, ProcessEvents> stateMachine, long releasedAt) {
+    }
+
+}
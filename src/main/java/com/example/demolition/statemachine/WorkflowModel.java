@@ -0,0 +1,213 @@
+package com.example.demolition.statemachine;
+
+import com.example.demolition.config.FormFieldConfig;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiPredicate;
+
+/**
+ * Immutable workflow of one process type, compiled from its {@code form.processes} entry.
+ * <p>
+ * States and events are plain names, so any number of process types can share one node without an enum
+ * set or a state machine factory each. Every step names the state a process is in while at that step,
+ * and every action with a {@code target} adds a transition from that state. A model is built once at
+ * startup and shared by all processes of its type; moving a process on is a map lookup.
+ */
+public final class WorkflowModel {
+
+    private final String processType;
+    private final String initialState;
+    private final String startEvent;
+    private final Map<String, String> stepKeyByState;
+    private final List<String> stepKeys;
+    private final Map<String, Map<String, String>> transitions;
+    private final Set<String> events;
+    private final Set<String> endStates;
+    private final Set<String> machineOnly;
+
+    private WorkflowModel(String processType, String initialState, String startEvent, Map<String, String> stepKeyByState,
+                          List<String> stepKeys, Map<String, Map<String, String>> transitions, Set<String> events,
+                          Set<String> endStates, Set<String> machineOnly) {
+        this.processType = processType;
+        this.initialState = initialState;
+        this.startEvent = startEvent;
+        this.stepKeyByState = stepKeyByState;
+        this.stepKeys = stepKeys;
+        this.transitions = transitions;
+        this.events = events;
+        this.endStates = endStates;
+        this.machineOnly = machineOnly;
+    }
+
+    /**
+     * @param requiresStateMachine tells which (state, event) pairs carry guards or actions and must still be
+     *                             sent through a state machine
+     * @throws IllegalStateException if the workflow is incomplete or refers to unknown steps
+     */
+    public static WorkflowModel compile(String processType, FormFieldConfig.ProcessConfig config,
+                                        BiPredicate<String, String> requiresStateMachine) {
+        FormFieldConfig.StepConfig initialStep = config.getSteps().get(config.getInitialStep());
+        if (initialStep == null || config.getStartEvent() == null) {
+            throw new IllegalStateException("Process type " + processType + " needs an initial-step and a start-event");
+        }
+
+        Map<String, String> stepKeyByState = new HashMap<>();
+        Map<String, String> stateByStepKey = new HashMap<>();
+        config.getSteps().forEach((stepKey, step) -> {
+            if (step.getState() == null) {
+                throw new IllegalStateException("Step " + processType + "/" + stepKey + " has no state");
+            }
+            if (stepKeyByState.putIfAbsent(step.getState(), stepKey) != null) {
+                throw new IllegalStateException("State " + step.getState() + " is used by more than one step of " + processType);
+            }
+            stateByStepKey.put(stepKey, step.getState());
+        });
+        List<String> configuredEndStates = config.getEndStates() != null ? config.getEndStates() : List.of();
+        if (configuredEndStates.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalStateException("Process type " + processType + " has an empty end state");
+        }
+        Set<String> endStates = Set.copyOf(configuredEndStates);
+
+        Map<String, Map<String, String>> transitions = new HashMap<>();
+        Set<String> events = new HashSet<>();
+        Set<String> machineOnly = new HashSet<>();
+        config.getSteps().forEach((stepKey, step) -> {
+            Map<String, String> byEvent = new HashMap<>();
+            List<FormFieldConfig.ActionConfig> actions = step.getActions() != null ? step.getActions() : List.of();
+            for (FormFieldConfig.ActionConfig action : actions) {
+                if (action.getTarget() == null) {
+                    continue;
+                }
+                if (action.getEvent() == null) {
+                    throw new IllegalStateException("Action " + processType + "/" + stepKey + "/" + action.getId()
+                            + " has a target but no event");
+                }
+                String target = stateByStepKey.containsKey(action.getTarget())
+                        ? stateByStepKey.get(action.getTarget())
+                        : endStates.contains(action.getTarget()) ? action.getTarget() : null;
+                if (target == null) {
+                    throw new IllegalStateException("Action " + processType + "/" + stepKey + "/" + action.getId()
+                            + " targets " + action.getTarget() + ", which is neither a step nor an end state");
+                }
+                if (byEvent.putIfAbsent(action.getEvent(), target) != null) {
+                    throw new IllegalStateException("Event " + action.getEvent() + " has more than one target in " + processType + "/" + stepKey);
+                }
+                events.add(action.getEvent());
+                if (requiresStateMachine.test(step.getState(), action.getEvent())) {
+                    machineOnly.add(key(step.getState(), action.getEvent()));
+                }
+            }
+            transitions.put(step.getState(), Map.copyOf(byEvent));
+        });
+
+        if (!transitions.get(initialStep.getState()).containsKey(config.getStartEvent())) {
+            throw new IllegalStateException("Start event " + config.getStartEvent() + " of " + processType
+                    + " is not accepted in the initial step");
+        }
+
+        return new WorkflowModel(processType, initialStep.getState(), config.getStartEvent(), Map.copyOf(stepKeyByState),
+                stepOrder(config), Map.copyOf(transitions), Set.copyOf(events), endStates, Set.copyOf(machineOnly));
+    }
+
+    /**
+     * Steps breadth-first from the initial step, following actions in the order they are declared; steps no
+     * action leads to come last, by key. Configured steps are a map with no order of its own.
+     */
+    private static List<String> stepOrder(FormFieldConfig.ProcessConfig config) {
+        Set<String> ordered = new LinkedHashSet<>();
+        Deque<String> pending = new ArrayDeque<>(List.of(config.getInitialStep()));
+        while (!pending.isEmpty()) {
+            String stepKey = pending.poll();
+            if (!ordered.add(stepKey)) {
+                continue;
+            }
+            List<FormFieldConfig.ActionConfig> actions = config.getSteps().get(stepKey).getActions();
+            for (FormFieldConfig.ActionConfig action : actions != null ? actions : List.<FormFieldConfig.ActionConfig>of()) {
+                if (action.getTarget() != null && config.getSteps().containsKey(action.getTarget())) {
+                    pending.add(action.getTarget());
+                }
+            }
+        }
+        config.getSteps().keySet().stream().sorted().forEach(ordered::add);
+        return List.copyOf(ordered);
+    }
+
+    public String processType() {
+        return processType;
+    }
+
+    /**
+     * State of a process before the start event.
+     */
+    public String initialState() {
+        return initialState;
+    }
+
+    public String startEvent() {
+        return startEvent;
+    }
+
+    /**
+     * @return the target state, or {@code null} if {@code event} is not accepted in {@code state}
+     */
+    public String target(String state, String event) {
+        Map<String, String> byEvent = transitions.get(state);
+        return byEvent != null ? byEvent.get(event) : null;
+    }
+
+    /**
+     * @return true if some step of this workflow has an action for {@code event}
+     */
+    public boolean hasEvent(String event) {
+        return events.contains(event);
+    }
+
+    /**
+     * @return true if the transition has guards or actions in the state machine model and must be executed by it
+     */
+    public boolean requiresStateMachine(String state, String event) {
+        return !machineOnly.isEmpty() && machineOnly.contains(key(state, event));
+    }
+
+    /**
+     * @return the key of the step shown in {@code state}, or {@code null} for end states
+     */
+    public String stepKey(String state) {
+        return stepKeyByState.get(state);
+    }
+
+    /**
+     * @return every step key, in the order a process goes through them
+     */
+    public List<String> stepKeys() {
+        return stepKeys;
+    }
+
+    public boolean isEnd(String state) {
+        return endStates.contains(state);
+    }
+
+    public Set<String> endStates() {
+        return endStates;
+    }
+
+    /**
+     * All (state, event, target) transitions, for verification at startup.
+     */
+    Map<String, Map<String, String>> transitions() {
+        return transitions;
+    }
+
+    private static String key(String state, String event) {
+        return state + '\u0000' + event;
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.example.demolition.statemachine;
+
+import com.example.demolition.config.FormFieldConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * One compiled {@link WorkflowModel} per process type of a form configuration.
+ * <p>
+ * Workflows whose states all come from {@link ProcessStates} run on the vocabulary of {@code StateMachineConfig}:
+ * their transitions are checked against the {@link ProcessTransitionTable} when compiled, and the ones with
+ * guards or actions there are still executed by a pooled state machine.
+ */
+public class WorkflowRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkflowRegistry.class);
+
+    private static final Set<String> STATES = Arrays.stream(ProcessStates.values()).map(Enum::name).collect(Collectors.toUnmodifiableSet());
+    private static final Set<String> EVENTS = Arrays.stream(ProcessEvents.values()).map(Enum::name).collect(Collectors.toUnmodifiableSet());
+
+    private final Map<String, WorkflowModel> models;
+
+    public WorkflowRegistry(FormFieldConfig formFieldConfig, ProcessTransitionTable transitionTable) {
+        Map<String, WorkflowModel> compiled = new HashMap<>();
+        formFieldConfig.getProcesses().forEach((processType, processConfig) -> {
+            // Null-safe, so an incomplete workflow is reported by WorkflowModel.compile rather than as an NPE here
+            boolean builtIn = processConfig.getSteps().values().stream().allMatch(step -> isBuiltIn(step.getState()))
+                    && (processConfig.getEndStates() == null || processConfig.getEndStates().stream().allMatch(WorkflowRegistry::isBuiltIn));
+            WorkflowModel model = WorkflowModel.compile(processType, processConfig, (state, event) ->
+                    builtIn && EVENTS.contains(event)
+                            && transitionTable.requiresStateMachine(ProcessStates.valueOf(state), ProcessEvents.valueOf(event)));
+            if (builtIn) {
+                verify(model, transitionTable);
+            }
+            compiled.put(processType, model);
+        });
+        this.models = Map.copyOf(compiled);
+        logger.debug("Compiled workflows for process types {}", models.keySet());
+    }
+
+    /**
+     * @throws RuntimeException if the process type is not configured
+     */
+    public WorkflowModel model(String processType) {
+        WorkflowModel model = processType != null ? models.get(processType) : null;
+        if (model == null) {
+            throw new RuntimeException("Process type not configured: " + processType);
+        }
+        return model;
+    }
+
+    private static boolean isBuiltIn(String state) {
+        return state != null && STATES.contains(state);
+    }
+
+    private static void verify(WorkflowModel model, ProcessTransitionTable transitionTable) {
+        List<String> mismatches = new ArrayList<>();
+        model.transitions().forEach((state, byEvent) -> byEvent.forEach((event, target) -> {
+            if (!EVENTS.contains(event)) {
+                mismatches.add(state + " --" + event + "--> unknown event");
+            } else if (!model.requiresStateMachine(state, event)) {
+                ProcessStates expected = transitionTable.target(ProcessStates.valueOf(state), ProcessEvents.valueOf(event));
+                if (expected == null || !expected.name().equals(target)) {
+                    mismatches.add(state + " --" + event + "--> workflow: " + target + ", state machine: " + expected);
+                }
+            }
+        }));
+
+        if (!mismatches.isEmpty()) {
+            throw new IllegalStateException("Workflow of " + model.processType() + " does not match the state machine model: " + mismatches);
+        }
+    }
+
+}
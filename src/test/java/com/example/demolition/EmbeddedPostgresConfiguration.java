@@ -0,0 +1,40 @@
+package com.example.demolition;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Profile;
+
+import java.io.IOException;
+
+/**
+ * Replaces the compose.yml Postgres with a throwaway embedded one under the {@code embedded-db} profile.
+ * It is a real Postgres, so jsonb, upserts and sequences behave as in production.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+@Profile("embedded-db")
+public class EmbeddedPostgresConfiguration {
+
+    @Bean(destroyMethod = "close")
+    EmbeddedPostgres embeddedPostgres() throws IOException {
+        return EmbeddedPostgres.builder().start();
+    }
+
+    /**
+     * Built like Boot's own pool, so {@code spring.datasource.hikari.*} of the active profiles still applies.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource dataSource(EmbeddedPostgres embeddedPostgres, DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(embeddedPostgres.getJdbcUrl("postgres", "postgres") + "&reWriteBatchedInserts=true")
+                .username("postgres")
+                .password("postgres")
+                .build();
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.example.demolition.benchmark;
+
+import com.example.demolition.config.FormConfigProperties;
+import com.example.demolition.config.FormFieldConfig;
+import com.example.demolition.config.JacksonConfig;
+import com.example.demolition.config.ProcessLockProperties;
+import com.example.demolition.config.ProcessMetricsProperties;
+import com.example.demolition.config.StateMachineConfig;
+import com.example.demolition.config.StateMachinePoolProperties;
+import com.example.demolition.config.TransitionJournalProperties;
+import com.example.demolition.service.FormConfigRegistry;
+import com.example.demolition.service.FormConfigStore;
+import com.example.demolition.service.FormValidator;
+import com.example.demolition.service.ProcessArchive;
+import com.example.demolition.service.ProcessLocks;
+import com.example.demolition.service.ProcessMetrics;
+import com.example.demolition.service.ProcessService;
+import com.example.demolition.service.TransitionJournal;
+import com.example.demolition.statemachine.ProcessEvents;
+import com.example.demolition.statemachine.ProcessStates;
+import com.example.demolition.statemachine.ProcessTransitionTable;
+import com.example.demolition.statemachine.StateMachinePool;
+import com.example.demolition.statemachine.WorkflowRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.statemachine.config.StateMachineFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Wires the state machine and {@link ProcessService} the way the application does, but on top of
+ * {@link InMemoryRepositories} and the {@code form} block of application.yml, without starting Boot.
+ */
+final class BenchmarkFixture implements AutoCloseable {
+
+    final InMemoryRepositories repositories = new InMemoryRepositories();
+    final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+    final FormFieldConfig formFieldConfig = loadFormFieldConfig();
+
+    final AnnotationConfigApplicationContext context;
+    final StateMachineFactory<ProcessStates, ProcessEvents> stateMachineFactory;
+    final StateMachinePool stateMachinePool;
+    final ProcessTransitionTable transitionTable;
+    final FormConfigRegistry formConfigs;
+    final WorkflowRegistry workflows;
+    final FormValidator formValidator;
+    final ProcessService processService;
+
+    @SuppressWarnings("unchecked")
+    BenchmarkFixture() {
+        context = new AnnotationConfigApplicationContext();
+        context.register(StateMachineConfig.class);
+        context.refresh();
+
+        stateMachineFactory = context.getBean(StateMachineFactory.class);
+        stateMachinePool = new StateMachinePool(stateMachineFactory, new StateMachinePoolProperties(), new SimpleMeterRegistry());
+        stateMachinePool.warmUp();
+        transitionTable = new ProcessTransitionTable(stateMachineFactory, stateMachinePool);
+        // Not stored: storeSnapshots() is never called without a container
+        formConfigs = new FormConfigRegistry(formFieldConfig, objectMapper, transitionTable, new FormConfigProperties(),
+                new FormConfigStore(new JdbcTemplate(), objectMapper));
+        workflows = formConfigs.current().workflows();
+        formValidator = formConfigs.current().validator();
+        processService = new ProcessService(stateMachinePool, formConfigs,
+                repositories.processRepository(), repositories.formDataRepository(),
+                repositories.currentFormDataRepository(), objectMapper,
+                new ProcessMetrics(new SimpleMeterRegistry(), new ProcessMetricsProperties()),
+                new ProcessLocks(new ProcessLockProperties()), new NoTransactionManager(), disabledJournal(),
+                new ProcessArchive(new JdbcTemplate()));
+    }
+
+    private static FormFieldConfig loadFormFieldConfig() {
+        try {
+            List<PropertySource<?>> sources = new YamlPropertySourceLoader()
+                    .load("application.yml", new ClassPathResource("application.yml"));
+            return new Binder(ConfigurationPropertySources.from(sources)).bind("form", FormFieldConfig.class).get();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static TransitionJournal disabledJournal() {
+        TransitionJournalProperties properties = new TransitionJournalProperties();
+        properties.setEnabled(false);
+        return new TransitionJournal(new JdbcTemplate(), properties, new SimpleMeterRegistry());
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    /**
+     * The in-memory repositories are not transactional, so transaction demarcation is a no-op.
+     */
+    private static final class NoTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.example.demolition.benchmark;
+
+import com.example.demolition.entity.CurrentFormData;
+import com.example.demolition.entity.CurrentFormDataId;
+import com.example.demolition.entity.FormData;
+import com.example.demolition.entity.Process;
+import com.example.demolition.repository.CurrentFormDataRepository;
+import com.example.demolition.repository.FormDataRepository;
+import com.example.demolition.repository.ProcessRepository;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Map-backed stand-ins for the Spring Data repositories, so service hot paths can be benchmarked without
+ * a database. Only the methods the service calls are implemented; anything else fails loudly.
+ */
+final class InMemoryRepositories {
+
+    final Map<Long, Process> processes = new ConcurrentHashMap<>();
+    final Map<CurrentFormDataId, CurrentFormData> currentFormData = new ConcurrentHashMap<>();
+    final LongAdder formDataInserts = new LongAdder();
+
+    private final AtomicLong ids = new AtomicLong();
+
+    ProcessRepository processRepository() {
+        return proxy(ProcessRepository.class, (method, args) -> switch (method.getName()) {
+            case "save" -> {
+                Process process = (Process) args[0];
+                if (process.getId() == null) {
+                    process.setId(ids.incrementAndGet());
+                }
+                processes.put(process.getId(), process);
+                yield process;
+            }
+            case "findById" -> Optional.ofNullable(processes.get((Long) args[0]));
+            case "flush" -> null;
+            default -> throw unsupported(method);
+        });
+    }
+
+    FormDataRepository formDataRepository() {
+        return proxy(FormDataRepository.class, (method, args) -> switch (method.getName()) {
+            case "save" -> {
+                formDataInserts.increment();
+                yield (FormData) args[0];
+            }
+            default -> throw unsupported(method);
+        });
+    }
+
+    CurrentFormDataRepository currentFormDataRepository() {
+        return proxy(CurrentFormDataRepository.class, (method, args) -> switch (method.getName()) {
+            case "save" -> {
+                CurrentFormData data = (CurrentFormData) args[0];
+                currentFormData.put(data.getId(), data);
+                yield data;
+            }
+            case "findById" -> Optional.ofNullable(currentFormData.get((CurrentFormDataId) args[0]));
+            case "findByIdProcessId" -> currentFormData.values().stream()
+                    .filter(data -> data.getId().getProcessId().equals(args[0]))
+                    .toList();
+            default -> throw unsupported(method);
+        });
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Method method, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> "InMemory" + type.getSimpleName();
+                };
+            }
+            return handler.handle(method, args);
+        });
+    }
+
+    private static UnsupportedOperationException unsupported(Method method) {
+        return new UnsupportedOperationException(method.getDeclaringClass().getSimpleName() + "." + method.getName());
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.example.demolition.benchmark;
+
+import com.example.demolition.entity.Process;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code ProcessService} hot paths on in-memory repositories: payload validation, form definition and
+ * summary building, and a full submit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProcessServiceBenchmark {
+
+    /**
+     * How many times every step was submitted before measuring, to show read paths do not grow with history.
+     */
+    @Param({"1", "50"})
+    public int history;
+
+    private BenchmarkFixture fixture;
+    private Long processId;
+    private byte[] stepTwo;
+    private boolean forward;
+
+    @Setup
+    public void setUp() {
+        fixture = new BenchmarkFixture();
+
+        stepTwo = """
+                {"loanAmount":"50000","loanPurpose":"car","loanTerm":"5"}""".getBytes(StandardCharsets.UTF_8);
+        byte[] stepOne = """
+                {"firstName":"John","lastName":"Doe","dateOfBirth":"1990-01-01","email":"john@example.com"}"""
+                .getBytes(StandardCharsets.UTF_8);
+
+        processId = fixture.processService.startProcess("loan_application").getId();
+        for (int i = 0; i < history; i++) {
+            fixture.processService.submitStep(processId, "step_one", "STEP_ONE_SUBMIT", stepOne);
+            fixture.processService.submitStep(processId, "step_two", "BACK", null);
+        }
+        fixture.processService.submitStep(processId, "step_one", "STEP_ONE_SUBMIT", stepOne);
+        forward = true;
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public byte[] validate() {
+        fixture.formValidator.validate("step_two", stepTwo);
+        return stepTwo;
+    }
+
+    @Benchmark
+    public byte[] getFormDefinition() {
+        return fixture.processService.getFormDefinition(processId);
+    }
+
+    @Benchmark
+    public Map<String, Object> getProcessSummary() {
+        return fixture.processService.getProcessSummary(processId);
+    }
+
+    /**
+     * Alternates between submitting step two and going back, so the process stays between the two steps.
+     */
+    @Benchmark
+    public Process submitStep() {
+        Process process = forward
+                ? fixture.processService.submitStep(processId, "step_two", "STEP_TWO_SUBMIT", stepTwo)
+                : fixture.processService.submitStep(processId, "step_three", "BACK", null);
+        forward = !forward;
+        return process;
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.example.demolition.benchmark;
+
+import com.example.demolition.statemachine.ProcessEvents;
+import com.example.demolition.statemachine.ProcessStates;
+import com.example.demolition.statemachine.StateMachineEvents;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.statemachine.StateMachine;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of getting a machine into the right state and moving it on, per strategy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StateMachineBenchmark {
+
+    private BenchmarkFixture fixture;
+
+    @Setup
+    public void setUp() {
+        fixture = new BenchmarkFixture();
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public StateMachine<ProcessStates, ProcessEvents> createThroughFactory() {
+        StateMachine<ProcessStates, ProcessEvents> stateMachine = fixture.stateMachineFactory.getStateMachine();
+        stateMachine.stopReactively().block();
+        return stateMachine;
+    }
+
+    @Benchmark
+    public ProcessStates rehydratePooled() {
+        StateMachine<ProcessStates, ProcessEvents> stateMachine = fixture.stateMachinePool.borrow(1L, ProcessStates.STEP_TWO);
+        try {
+            return stateMachine.getState().getId();
+        } finally {
+            fixture.stateMachinePool.release(stateMachine);
+        }
+    }
+
+    @Benchmark
+    public ProcessStates sendEventPooled() {
+        StateMachine<ProcessStates, ProcessEvents> stateMachine = fixture.stateMachinePool.borrow(1L, ProcessStates.STEP_TWO);
+        try {
+            StateMachineEvents.send(stateMachine, ProcessEvents.STEP_TWO_SUBMIT);
+            return stateMachine.getState().getId();
+        } finally {
+            fixture.stateMachinePool.release(stateMachine);
+        }
+    }
+
+    @Benchmark
+    public ProcessStates transitionTable() {
+        return fixture.transitionTable.target(ProcessStates.STEP_TWO, ProcessEvents.STEP_TWO_SUBMIT);
+    }
+
+    @Benchmark
+    public String workflowModel() {
+        return fixture.workflows.model("loan_application").target("STEP_TWO", "STEP_TWO_SUBMIT");
+    }
+
+}
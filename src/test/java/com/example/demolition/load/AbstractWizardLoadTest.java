@@ -0,0 +1,44 @@
+package com.example.demolition.load;
+
+import com.example.demolition.EmbeddedPostgresConfiguration;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the wizard flow at {@code -Dloadtest.concurrency} clients, {@code -Dloadtest.wizards} wizards each,
+ * with {@code -Dloadtest.backLoops} BACK round trips per wizard, and reports p50/p99 and throughput per endpoint.
+ * Only runs with {@code mvn -Pload-test test}, against an embedded Postgres.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(EmbeddedPostgresConfiguration.class)
+@ActiveProfiles("embedded-db")
+abstract class AbstractWizardLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractWizardLoadTest.class);
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void wizardFlowUnderLoad() throws InterruptedException {
+        int concurrency = Integer.getInteger("loadtest.concurrency", 50);
+        int wizards = Integer.getInteger("loadtest.wizards", 20);
+        int backLoops = Integer.getInteger("loadtest.backLoops", 1);
+
+        WizardLoadDriver driver = new WizardLoadDriver("http://localhost:" + port, backLoops);
+        WizardLoadDriver.LoadResult result = driver.run(concurrency, wizards);
+        logger.info("{} with {} clients: {}", getClass().getSimpleName(), concurrency, result);
+
+        assertThat(result.failures()).isZero();
+    }
+
+}
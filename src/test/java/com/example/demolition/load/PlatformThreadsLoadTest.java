@@ -0,0 +1,7 @@
+package com.example.demolition.load;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadsLoadTest extends AbstractWizardLoadTest {
+}
@@ -0,0 +1,162 @@
+package com.example.demolition.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives complete loan application wizards against a running server from a fixed number of clients.
+ * <p>
+ * Every wizard starts a process, loads the form before each step, submits all steps with
+ * {@code backLoops} BACK/resubmit round trips on step three and ends with FINAL_SUBMIT and the summary.
+ * Latencies are recorded per endpoint.
+ */
+class WizardLoadDriver {
+
+    static final String START = "POST /start";
+    static final String FORM = "GET /{id}/form";
+    static final String SUBMIT = "POST /{id}/submit";
+    static final String SUMMARY = "GET /{id}/summary";
+
+    private static final String STEP_ONE = """
+            {"firstName":"John","lastName":"Doe","dateOfBirth":"1990-01-01","email":"john@example.com"}""";
+    private static final String STEP_TWO = """
+            {"loanAmount":"50000","loanPurpose":"car","loanTerm":"5"}""";
+    private static final String STEP_THREE = """
+            {"employerName":"ACME","employmentDuration":"4","annualIncome":"60000"}""";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final int backLoops;
+
+    private final Map<String, Queue<Long>> latencies = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+
+    WizardLoadDriver(String baseUrl, int backLoops) {
+        this.baseUrl = baseUrl;
+        this.backLoops = backLoops;
+    }
+
+    LoadResult run(int concurrency, int wizardsPerClient) throws InterruptedException {
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        for (int c = 0; c < concurrency; c++) {
+            clients.submit(() -> {
+                for (int i = 0; i < wizardsPerClient; i++) {
+                    try {
+                        runWizard();
+                    } catch (Exception e) {
+                        failures.increment();
+                    }
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(30, TimeUnit.MINUTES);
+        long elapsedNanos = System.nanoTime() - start;
+
+        Map<String, EndpointStats> endpoints = new TreeMap<>();
+        latencies.forEach((endpoint, samples) -> endpoints.put(endpoint, EndpointStats.of(samples, elapsedNanos)));
+        return new LoadResult(endpoints, failures.sum(), elapsedNanos);
+    }
+
+    private void runWizard() throws IOException, InterruptedException {
+        JsonNode process = send(START, "/api/process/start", "{\"processType\":\"loan_application\"}");
+        long id = process.get("id").asLong();
+
+        step(id, "step_one", "STEP_ONE_SUBMIT", STEP_ONE);
+        step(id, "step_two", "STEP_TWO_SUBMIT", STEP_TWO);
+        for (int i = 0; i < backLoops; i++) {
+            step(id, "step_three", "BACK", "{}");
+            step(id, "step_two", "STEP_TWO_SUBMIT", STEP_TWO);
+        }
+        step(id, "step_three", "STEP_THREE_SUBMIT", STEP_THREE);
+        step(id, "submission", "FINAL_SUBMIT", "{}");
+
+        send(SUMMARY, "/api/process/" + id + "/summary", null);
+    }
+
+    /**
+     * Loads the form of the current step, as the UI does, then submits it.
+     */
+    private void step(long id, String step, String event, String body) throws IOException, InterruptedException {
+        send(FORM, "/api/process/" + id + "/form", null);
+        send(SUBMIT, "/api/process/" + id + "/submit?step=" + step + "&event=" + event, body);
+    }
+
+    /**
+     * Sends a POST if {@code body} is given, a GET otherwise.
+     */
+    private JsonNode send(String endpoint, String path, String body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path));
+        if (body != null) {
+            request.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        latencies.computeIfAbsent(endpoint, e -> new ConcurrentLinkedQueue<>()).add(System.nanoTime() - start);
+
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(path + " returned " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    record EndpointStats(long requests, long p50Nanos, long p99Nanos, double throughput) {
+
+        static EndpointStats of(Queue<Long> samples, long elapsedNanos) {
+            long[] sorted = samples.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            return new EndpointStats(sorted.length, percentile(sorted, 0.50), percentile(sorted, 0.99),
+                    sorted.length * 1_000_000_000d / elapsedNanos);
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            return sorted[Math.max(0, (int) Math.ceil(quantile * sorted.length) - 1)];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%6d requests, p50 %7.2f ms, p99 %7.2f ms, %8.1f req/s",
+                    requests, p50Nanos / 1_000_000d, p99Nanos / 1_000_000d, throughput);
+        }
+    }
+
+    record LoadResult(Map<String, EndpointStats> endpoints, long failures, long elapsedNanos) {
+
+        long requests() {
+            return endpoints.values().stream().mapToLong(EndpointStats::requests).sum();
+        }
+
+        double throughput() {
+            return requests() * 1_000_000_000d / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder report = new StringBuilder(String.format("%d requests, %d failed wizards, %.1f req/s",
+                    requests(), failures, throughput()));
+            endpoints.forEach((endpoint, stats) ->
+                    report.append(String.format("%n  %-20s %s", endpoint, stats)));
+            return report.toString();
+        }
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.example.demolition.load;
+
+import com.example.demolition.EmbeddedPostgresConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The wizard flow of the load tests with two clients, as part of the default build: every endpoint it
+ * touches must answer 200 against a real Postgres.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(EmbeddedPostgresConfiguration.class)
+@ActiveProfiles("embedded-db")
+class WizardSmokeTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void completesWizardsConcurrently() throws InterruptedException {
+        WizardLoadDriver driver = new WizardLoadDriver("http://localhost:" + port, 1);
+
+        WizardLoadDriver.LoadResult result = driver.run(2, 3);
+
+        assertThat(result.failures()).isZero();
+        assertThat(result.endpoints()).containsKeys(WizardLoadDriver.START, WizardLoadDriver.SUBMIT);
+    }
+
+}
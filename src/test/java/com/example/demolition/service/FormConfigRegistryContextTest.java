@@ -0,0 +1,80 @@
+package com.example.demolition.service;
+
+import com.example.demolition.EmbeddedPostgresConfiguration;
+import com.example.demolition.config.FormFieldConfig;
+import com.example.demolition.entity.Process;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Starts the application on the {@code form} block of application.yml and checks the snapshots reach the store.
+ */
+@SpringBootTest
+@Import(EmbeddedPostgresConfiguration.class)
+@ActiveProfiles("embedded-db")
+class FormConfigRegistryContextTest {
+
+    @Autowired
+    private FormConfigRegistry formConfigs;
+
+    @Autowired
+    private FormConfigStore store;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProcessService processService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void storesTheConfigurationItStartedWith() {
+        FormConfigSnapshot current = formConfigs.current();
+
+        assertThat(store.find(current.version()))
+                .hasValueSatisfying(stored -> assertThat(stored.getProcesses()).containsOnlyKeys(current.config().getProcesses().keySet()));
+    }
+
+    @Test
+    void compilesStoredVersionsItDidNotLoad() throws Exception {
+        FormFieldConfig other = objectMapper.readValue(objectMapper.writeValueAsString(formConfigs.current().config()), FormFieldConfig.class);
+        other.getProcesses().get("loan_application").setName("Loan Application (other instance)");
+        store.save("other-instance", other);
+
+        FormConfigSnapshot snapshot = formConfigs.forVersion("other-instance");
+
+        assertThat(snapshot.version()).isEqualTo("other-instance");
+        assertThat(snapshot.config().getProcesses().get("loan_application").getName()).isEqualTo("Loan Application (other instance)");
+        assertThat(formConfigs.current().version()).isNotEqualTo("other-instance");
+        assertThat(formConfigs.forVersion("never-stored")).isSameAs(formConfigs.current());
+    }
+
+    @Test
+    void validatesSubmitsAgainstTheVersionTheProcessWasStartedWith() throws Exception {
+        FormFieldConfig stricter = objectMapper.readValue(objectMapper.writeValueAsString(formConfigs.current().config()), FormFieldConfig.class);
+        stricter.getProcesses().get("loan_application").getSteps().get("step_one").getFields().get(0).setType("number");
+        store.save("stricter-instance", stricter);
+        Process process = processService.startProcess("loan_application");
+        jdbcTemplate.update("UPDATE processes SET config_version = 'stricter-instance' WHERE id = ?", process.getId());
+
+        byte[] stepOne = """
+                {"firstName":"Ada","lastName":"Lovelace","dateOfBirth":"1990-01-01","email":"ada@example.com"}"""
+                .getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> processService.submitStep(process.getId(), "step_one", "STEP_ONE_SUBMIT", stepOne))
+                .isInstanceOf(FormValidationException.class);
+    }
+
+}
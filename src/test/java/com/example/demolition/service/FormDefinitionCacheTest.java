@@ -0,0 +1,55 @@
+package com.example.demolition.service;
+
+import com.example.demolition.config.FormFieldConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class FormDefinitionCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final FormDefinitionCache cache = new FormDefinitionCache(config(), objectMapper);
+
+    @Test
+    void rendersTheProcessAroundTheCachedDefinition() throws Exception {
+        JsonNode form = objectMapper.readTree(cache.render(7L, "REVIEW", "claim", "review", "{\"amount\":12}"));
+
+        assertEquals(7L, form.get("processId").asLong());
+        assertEquals("REVIEW", form.get("currentState").asText());
+        assertEquals("claim", form.get("processType").asText());
+        assertEquals("review", form.get("step").asText());
+        assertEquals("approve", form.get("actions").get(0).get("id").asText());
+        assertEquals(12, form.get("data").get("amount").asInt());
+    }
+
+    @Test
+    void escapesTheStoredState() throws Exception {
+        JsonNode form = objectMapper.readTree(cache.render(7L, "RE\"VIEW\\", "claim", "review", null));
+
+        assertEquals("RE\"VIEW\\", form.get("currentState").asText());
+        assertFalse(form.has("data"));
+    }
+
+    private static FormFieldConfig config() {
+        FormFieldConfig.ActionConfig approve = new FormFieldConfig.ActionConfig();
+        approve.setId("approve");
+        approve.setEvent("APPROVE");
+        approve.setTarget("PAID");
+        FormFieldConfig.StepConfig review = new FormFieldConfig.StepConfig();
+        review.setState("REVIEW");
+        review.setActions(List.of(approve));
+        FormFieldConfig.ProcessConfig claim = new FormFieldConfig.ProcessConfig();
+        claim.setSteps(Map.of("review", review));
+        FormFieldConfig config = new FormFieldConfig();
+        config.setProcesses(Map.of("claim", claim));
+        return config;
+    }
+
+}
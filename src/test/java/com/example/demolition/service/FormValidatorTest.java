@@ -0,0 +1,203 @@
+package com.example.demolition.service;
+
+import com.example.demolition.config.FormFieldConfig;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FormValidatorTest {
+
+    private final FormValidator validator = new FormValidator(config());
+
+    @Test
+    void numbersAcceptSignsAndOneFraction() {
+        for (String valid : List.of("42", "-1.5", "+3", "0.25", ".5", "5.")) {
+            assertTrue(isNumber(valid), valid);
+        }
+        for (String invalid : List.of("", "-", "+", ".", "1.2.3", "1e5", "1,000", " 1", "--1", "12a")) {
+            assertFalse(isNumber(invalid), invalid);
+        }
+    }
+
+    @Test
+    void datesMustExistInTheirMonth() {
+        for (String valid : List.of("2024-02-29", "2000-02-29", "2023-02-28", "2024-04-30", "2024-12-31")) {
+            assertTrue(isIsoDate(valid), valid);
+        }
+        for (String invalid : List.of("2023-02-29", "1900-02-29", "2024-04-31", "2024-13-01", "2024-00-10",
+                "2024-01-00", "2024-1-01", "2024/01/01", "20240101", "2024-01-01T00:00")) {
+            assertFalse(isIsoDate(invalid), invalid);
+        }
+    }
+
+    @Test
+    void emailsNeedOneAtAndADottedDomain() {
+        for (String valid : List.of("a@b.co", "first.last@mail.example.org")) {
+            assertTrue(isEmail(valid), valid);
+        }
+        for (String invalid : List.of("@b.co", "a@b", "a@.co", "a@b.", "a b@c.de", "a@b@c.de", "a.b.c")) {
+            assertFalse(isEmail(invalid), invalid);
+        }
+    }
+
+    @Test
+    void acceptsACompleteStep() {
+        assertEquals(List.of(), errors("""
+                {"name": "Jane", "age": 30, "birthDate": "1990-01-31", "email": "jane@example.com", "purpose": "car"}"""));
+        assertEquals(List.of(), errors("""
+                {"name": "Jane", "age": "-12.5", "birthDate": "2024-02-29", "purpose": "car", "email": null}"""));
+    }
+
+    @Test
+    void blankAndNullValuesCountAsMissing() {
+        assertEquals(List.of(
+                        new FormValidator.FieldError("name", "is required"),
+                        new FormValidator.FieldError("birthDate", "is required"),
+                        new FormValidator.FieldError("purpose", "is required")),
+                errors("""
+                        {"name": "  ", "birthDate": null, "age": ""}"""));
+    }
+
+    @Test
+    void checksTheTypeOfNonStringTokens() {
+        assertEquals(List.of(
+                        new FormValidator.FieldError("age", "must be a number"),
+                        new FormValidator.FieldError("birthDate", "must be text"),
+                        new FormValidator.FieldError("email", "must be text"),
+                        new FormValidator.FieldError("purpose", "is not one of [car]")),
+                errors("""
+                        {"name": 7, "age": true, "birthDate": 20240101, "email": false, "purpose": 1}"""));
+    }
+
+    @Test
+    void rejectsInvalidStringValues() {
+        assertEquals(List.of(
+                        new FormValidator.FieldError("age", "must be a number"),
+                        new FormValidator.FieldError("birthDate", "must be a date (yyyy-MM-dd)"),
+                        new FormValidator.FieldError("email", "must be an email address"),
+                        new FormValidator.FieldError("purpose", "is not one of [car]")),
+                errors("""
+                        {"name": "Jane", "age": "12a", "birthDate": "2023-02-29", "email": "jane", "purpose": "boat"}"""));
+    }
+
+    @Test
+    void rejectsUnknownFieldsAndNestedValues() {
+        assertEquals(List.of(
+                        new FormValidator.FieldError("nickname", "is not a field of this step"),
+                        new FormValidator.FieldError("extra", "is not a field of this step"),
+                        new FormValidator.FieldError("name", "must be a single value"),
+                        new FormValidator.FieldError("name", "is required")),
+                errors("""
+                        {"nickname": "J", "extra": {"a": [1, 2]}, "name": ["Jane"], "birthDate": "1990-01-31", "purpose": "car"}"""));
+    }
+
+    @Test
+    void rejectsAnythingButASingleObject() {
+        assertEquals(List.of(new FormValidator.FieldError(null, "must be a JSON object")), errors("[]"));
+        assertEquals(List.of(new FormValidator.FieldError(null, "must be a JSON object")), errors("\"text\""));
+        assertEquals(List.of(new FormValidator.FieldError(null, "is not valid JSON")), errors("{\"name\": "));
+        assertEquals(List.of(new FormValidator.FieldError(null, "unexpected content after the JSON object")),
+                errors("""
+                        {"name": "Jane", "birthDate": "1990-01-31", "purpose": "car"} {}"""));
+    }
+
+    @Test
+    void validatesByStepOnlyWhereTheStepKeyIsUnique() {
+        assertTrue(validator.canValidate("personal"));
+        assertFalse(validator.canValidate("shared"));
+        assertFalse(validator.canValidate("unknown"));
+
+        FormValidationException e = assertThrows(FormValidationException.class,
+                () -> validator.validate("loan", "unknown", "{}".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(List.of(new FormValidator.FieldError(null, "Step not configured")), e.getErrors());
+        validator.validate("lease", "shared", "{}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void refusesStepsWithMoreFieldsThanTheRequiredMask() {
+        FormFieldConfig config = new FormFieldConfig();
+        List<FormFieldConfig.FieldConfig> fields = new ArrayList<>();
+        for (int i = 0; i <= Long.SIZE; i++) {
+            fields.add(field("f" + i, "text", false));
+        }
+        config.setProcesses(Map.of("big", process(Map.of("step", step(fields)))));
+
+        assertThrows(IllegalStateException.class, () -> new FormValidator(config));
+    }
+
+    private List<FormValidator.FieldError> errors(String json) {
+        try {
+            validator.validate("personal", json.getBytes(StandardCharsets.UTF_8));
+            return List.of();
+        } catch (FormValidationException e) {
+            return e.getErrors();
+        }
+    }
+
+    private static boolean isNumber(String value) {
+        return FormValidator.isNumber(value.toCharArray(), 0, value.length());
+    }
+
+    private static boolean isIsoDate(String value) {
+        // Offset into a larger buffer, as the parser hands values over
+        char[] buffer = ("xx" + value + "yy").toCharArray();
+        return FormValidator.isIsoDate(buffer, 2, value.length());
+    }
+
+    private static boolean isEmail(String value) {
+        return FormValidator.isEmail(value.toCharArray(), 0, value.length());
+    }
+
+    private static FormFieldConfig config() {
+        FormFieldConfig.FieldConfig purpose = field("purpose", "select", true);
+        purpose.setOptions(List.of(option("car")));
+
+        FormFieldConfig config = new FormFieldConfig();
+        config.setProcesses(Map.of(
+                "loan", process(Map.of(
+                        "personal", step(List.of(
+                                field("name", "text", true),
+                                field("age", "number", false),
+                                field("birthDate", "date", true),
+                                field("email", "email", false),
+                                purpose)),
+                        "shared", step(List.of()))),
+                "lease", process(Map.of("shared", step(List.of(field("note", "text", false)))))));
+        return config;
+    }
+
+    private static FormFieldConfig.ProcessConfig process(Map<String, FormFieldConfig.StepConfig> steps) {
+        FormFieldConfig.ProcessConfig process = new FormFieldConfig.ProcessConfig();
+        process.setSteps(steps);
+        return process;
+    }
+
+    private static FormFieldConfig.StepConfig step(List<FormFieldConfig.FieldConfig> fields) {
+        FormFieldConfig.StepConfig step = new FormFieldConfig.StepConfig();
+        step.setFields(fields);
+        return step;
+    }
+
+    private static FormFieldConfig.FieldConfig field(String id, String type, boolean required) {
+        FormFieldConfig.FieldConfig field = new FormFieldConfig.FieldConfig();
+        field.setId(id);
+        field.setType(type);
+        field.setRequired(required);
+        return field;
+    }
+
+    private static FormFieldConfig.OptionConfig option(String value) {
+        FormFieldConfig.OptionConfig option = new FormFieldConfig.OptionConfig();
+        option.setValue(value);
+        return option;
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.example.demolition.service;
+
+import com.example.demolition.EmbeddedPostgresConfiguration;
+import com.example.demolition.config.FormFieldConfig;
+import com.example.demolition.entity.Process;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports processes submitted through {@link ProcessService}, on the embedded Postgres.
+ */
+@SpringBootTest
+@Import(EmbeddedPostgresConfiguration.class)
+@ActiveProfiles("embedded-db")
+class ProcessExportServiceContextTest {
+
+    private static final String STEP_ONE = """
+            {"firstName":"Ada","lastName":"Lovelace","dateOfBirth":"1990-01-01","email":"ada@example.com"}""";
+
+    @Autowired
+    private ProcessService processService;
+
+    @Autowired
+    private ProcessExportService exportService;
+
+    @Autowired
+    private FormConfigRegistry formConfigs;
+
+    @Autowired
+    private FormConfigStore store;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void ordersColumnsByWorkflowAndKeepsProcessColumnsUnique() {
+        submittedStepOne();
+
+        String header = export(ProcessExportService.Format.CSV).lines().findFirst().orElseThrow();
+
+        assertThat(header).isEqualTo("processId,processType,currentState,createdAt,updatedAt,selection.processType,"
+                + "firstName,lastName,dateOfBirth,email,loanAmount,loanPurpose,loanTerm,"
+                + "employerName,employmentDuration,annualIncome");
+    }
+
+    @Test
+    void keepsFieldsOfOlderConfigurationVersions() throws Exception {
+        FormFieldConfig older = objectMapper.readValue(objectMapper.writeValueAsString(formConfigs.current().config()), FormFieldConfig.class);
+        older.getProcesses().get("loan_application").getSteps().get("step_one").getFields().get(3).setId("emailAddress");
+        store.save("export-older", older);
+        Process process = submittedStepOne();
+        jdbcTemplate.update("UPDATE processes SET config_version = 'export-older' WHERE id = ?", process.getId());
+        jdbcTemplate.update("UPDATE form_data_current SET form_data_json = jsonb_set(form_data_json, '{emailAddress}', '\"old@example.com\"') "
+                + "WHERE process_id = ?", process.getId());
+
+        List<JsonNode> records = export(ProcessExportService.Format.NDJSON).lines().map(this::readTree).toList();
+
+        JsonNode exported = records.stream().filter(record -> record.get("processId").asLong() == process.getId()).findFirst().orElseThrow();
+        assertThat(exported.get("firstName").asText()).isEqualTo("Ada");
+        assertThat(exported.get("email").asText()).isEqualTo("ada@example.com");
+        assertThat(exported.get("emailAddress").asText()).isEqualTo("old@example.com");
+    }
+
+    private Process submittedStepOne() {
+        Process process = processService.startProcess("loan_application");
+        return processService.submitStep(process.getId(), "step_one", "STEP_ONE_SUBMIT", STEP_ONE.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String export(ProcessExportService.Format format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export("loan_application", "STEP_TWO", format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private JsonNode readTree(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
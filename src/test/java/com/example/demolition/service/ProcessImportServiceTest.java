@@ -0,0 +1,86 @@
+package com.example.demolition.service;
+
+import com.example.demolition.config.BulkImportProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProcessImportServiceTest {
+
+    private final ProcessService processService = mock(ProcessService.class);
+    private final List<String> imported = new ArrayList<>();
+    private ProcessImportService importService;
+
+    @BeforeEach
+    void importEveryApplication() {
+        when(processService.importApplications(anyList(), anyInt())).thenAnswer(invocation -> {
+            List<ImportedApplication> chunk = invocation.getArgument(0);
+            int firstIndex = invocation.getArgument(1);
+            List<ImportResult> results = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                imported.add(chunk.get(i).processType());
+                results.add(new ImportResult(firstIndex + i, (long) firstIndex + i, "STEP_ONE", null));
+            }
+            return results;
+        });
+        BulkImportProperties properties = new BulkImportProperties();
+        properties.setChunkSize(2);
+        importService = new ProcessImportService(processService, new ObjectMapper(), mock(EntityManager.class), properties);
+    }
+
+    @Test
+    void reportsElementsThatAreNotApplicationsAndCarriesOn() {
+        ImportReport report = importApplications("""
+                [{"processType": "a"}, 42, [1, [2]], {"processType": "b"}, {"processType": "c", "steps": "x"},
+                 {"processType": "d"}, {"processType": "e"}, null]""");
+
+        assertTrue(report.complete());
+        assertEquals(List.of("a", "b", "d", "e"), imported);
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7), report.results().stream().map(ImportResult::index).toList());
+        for (int failed : List.of(1, 2, 4, 7)) {
+            assertNull(report.results().get(failed).processId());
+            assertTrue(report.results().get(failed).error().startsWith("Not an application: "), report.results().get(failed).error());
+        }
+        assertEquals(5L, report.results().get(5).processId());
+    }
+
+    @Test
+    void returnsWhatWasImportedWhenTheRequestBreaksOff() {
+        ImportReport report = importApplications("""
+                [{"processType": "a"}, {"processType": "b"}, {"processType": "c"}, {"processType": oops}, {"processType": "e"}]""");
+
+        assertFalse(report.complete());
+        assertTrue(report.error().startsWith("Request unreadable at application 3: "), report.error());
+        assertEquals(List.of("a", "b", "c"), imported);
+        assertEquals(List.of(0, 1, 2), report.results().stream().map(ImportResult::index).toList());
+    }
+
+    @Test
+    void needsAnArray() {
+        ImportReport report = importApplications("""
+                {"processType": "a"}""");
+
+        assertEquals("Expected a JSON array of applications", report.error());
+        assertTrue(report.results().isEmpty());
+    }
+
+    private ImportReport importApplications(String json) {
+        return importService.importApplications(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.example.demolition.service;
+
+import com.example.demolition.config.ProcessLockProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Lock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProcessLocksTest {
+
+    private final ProcessLocks locks = locks();
+
+    @Test
+    void otherProcessesDoNotWait() {
+        Lock held = locks.lock(1L);
+        try {
+            for (long processId = 2; processId < 2_000; processId++) {
+                long id = processId;
+                inOtherThread(() -> locks.lock(id).unlock());
+            }
+        } finally {
+            held.unlock();
+        }
+    }
+
+    @Test
+    void theSameProcessWaitsUntilTheTimeout() {
+        Lock held = locks.lock(1L);
+        try {
+            CompletableFuture<Void> second = CompletableFuture.runAsync(() -> locks.lock(1L).unlock());
+            Throwable e = assertThrows(Exception.class, second::join).getCause();
+            assertEquals(ProcessConflictException.class, e.getClass());
+            assertEquals("Another submit for process 1 is in progress", e.getMessage());
+        } finally {
+            held.unlock();
+        }
+        inOtherThread(() -> locks.lock(1L).unlock());
+    }
+
+    @Test
+    void staysReentrant() {
+        Lock outer = locks.lock(1L);
+        Lock inner = locks.lock(1L);
+        inner.unlock();
+        // Still held by the outer lock
+        assertThrows(Exception.class, () -> CompletableFuture.runAsync(() -> locks.lock(1L).unlock()).join());
+        outer.unlock();
+        inOtherThread(() -> locks.lock(1L).unlock());
+    }
+
+    private static void inOtherThread(Runnable runnable) {
+        CompletableFuture.runAsync(runnable).join();
+    }
+
+    private static ProcessLocks locks() {
+        ProcessLockProperties properties = new ProcessLockProperties();
+        properties.setAcquireTimeout(Duration.ofMillis(50));
+        return new ProcessLocks(properties);
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.example.demolition.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchIndexInitializerTest {
+
+    @Test
+    void fieldsDifferingOnlyInCaseGetTheirOwnIndex() {
+        String lower = SearchIndexInitializer.numericIndexName("loanamount");
+        String camel = SearchIndexInitializer.numericIndexName("loanAmount");
+
+        assertTrue(camel.startsWith("idx_form_data_current_num_loanamount_"), camel);
+        assertNotEquals(lower, camel);
+        assertEquals(camel, SearchIndexInitializer.numericIndexName("loanAmount"));
+    }
+
+    @Test
+    void longIdsStayDistinctWithinTheIdentifierLength() {
+        String a = SearchIndexInitializer.numericIndexName("a".repeat(80) + "X");
+        String b = SearchIndexInitializer.numericIndexName("a".repeat(80) + "Y");
+
+        assertEquals(63, a.length());
+        assertNotEquals(a, b);
+    }
+
+}
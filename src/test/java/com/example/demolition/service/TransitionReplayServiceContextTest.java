@@ -0,0 +1,78 @@
+package com.example.demolition.service;
+
+import com.example.demolition.EmbeddedPostgresConfiguration;
+import com.example.demolition.entity.Process;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replays journals written by real starts, on the embedded Postgres.
+ */
+@SpringBootTest
+@Import(EmbeddedPostgresConfiguration.class)
+@ActiveProfiles("embedded-db")
+class TransitionReplayServiceContextTest {
+
+    @Autowired
+    private ProcessService processService;
+
+    @Autowired
+    private TransitionReplayService replayService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void confirmsAMatchingState() {
+        Process process = processService.startProcess("loan_application");
+
+        JournalReplay replay = replayService.replay(process.getId());
+
+        assertThat(replay.consistent()).isTrue();
+        assertThat(replay.repaired()).isFalse();
+        assertThat(replay.journalState()).isEqualTo("STEP_ONE");
+        assertThat(replay.version()).isEqualTo(process.getVersion());
+    }
+
+    @Test
+    void onlyReportsAValidStateTheJournalDisagreesWith() {
+        Process process = processService.startProcess("loan_application");
+        setState(process, "COMPLETED");
+
+        JournalReplay replay = replayService.replay(process.getId());
+
+        assertThat(replay.consistent()).isFalse();
+        assertThat(replay.repaired()).isFalse();
+        assertThat(replay.storedState()).isEqualTo("COMPLETED");
+        assertThat(replay.journalState()).isEqualTo("STEP_ONE");
+        assertThat(state(process)).isEqualTo("COMPLETED");
+    }
+
+    @Test
+    void repairsAnInvalidState() {
+        Process process = processService.startProcess("loan_application");
+        setState(process, "NO_SUCH_STATE");
+
+        JournalReplay replay = replayService.replay(process.getId());
+
+        assertThat(replay.repaired()).isTrue();
+        assertThat(replay.storedState()).isEqualTo("NO_SUCH_STATE");
+        assertThat(replay.version()).isEqualTo(process.getVersion() + 1);
+        assertThat(state(process)).isEqualTo("STEP_ONE");
+    }
+
+    private void setState(Process process, String state) {
+        jdbcTemplate.update("UPDATE processes SET current_state = ? WHERE id = ?", state, process.getId());
+    }
+
+    private String state(Process process) {
+        return jdbcTemplate.queryForObject("SELECT current_state FROM processes WHERE id = ?", String.class, process.getId());
+    }
+
+}
@@ -0,0 +1,170 @@
+package com.example.demolition.statemachine;
+
+import com.example.demolition.config.FormFieldConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WorkflowModelTest {
+
+    @Test
+    void compilesStepsAndActionsIntoTransitions() {
+        WorkflowModel model = WorkflowModel.compile("claim", claim(), (state, event) -> false);
+
+        assertEquals("claim", model.processType());
+        assertEquals("NEW", model.initialState());
+        assertEquals("OPEN", model.startEvent());
+        assertEquals("REVIEW", model.target("NEW", "OPEN"));
+        assertEquals("PAID", model.target("REVIEW", "APPROVE"));
+        assertEquals("REJECTED", model.target("REVIEW", "REJECT"));
+        assertNull(model.target("NEW", "APPROVE"));
+        assertNull(model.target("PAID", "APPROVE"));
+
+        assertTrue(model.hasEvent("REJECT"));
+        assertFalse(model.hasEvent("COMMENT"));
+        assertEquals("review", model.stepKey("REVIEW"));
+        assertNull(model.stepKey("PAID"));
+        assertEquals(Set.of("PAID", "REJECTED"), model.endStates());
+        assertTrue(model.isEnd("REJECTED"));
+        assertFalse(model.isEnd("REVIEW"));
+    }
+
+    @Test
+    void ordersStepsAsAProcessGoesThroughThem() {
+        Map<String, FormFieldConfig.StepConfig> steps = new HashMap<>();
+        steps.put("zeta", step("Z", action("next", "NEXT", "alpha")));
+        steps.put("alpha", step("A", action("back", "BACK", "zeta"), action("done", "DONE", "END")));
+        steps.put("orphan", step("O"));
+        steps.put("beta", step("B"));
+
+        WorkflowModel model = WorkflowModel.compile("flow", process("zeta", "NEXT", List.of("END"), steps), (state, event) -> false);
+
+        assertEquals(List.of("zeta", "alpha", "beta", "orphan"), model.stepKeys());
+    }
+
+    @Test
+    void flagsTheTransitionsTheStateMachineMustRun() {
+        WorkflowModel model = WorkflowModel.compile("claim", claim(),
+                (state, event) -> state.equals("REVIEW") && event.equals("APPROVE"));
+
+        assertTrue(model.requiresStateMachine("REVIEW", "APPROVE"));
+        assertFalse(model.requiresStateMachine("REVIEW", "REJECT"));
+        assertFalse(model.requiresStateMachine("NEW", "OPEN"));
+    }
+
+    @Test
+    void needsAnInitialStepAndAStartEvent() {
+        FormFieldConfig.ProcessConfig noInitialStep = claim();
+        noInitialStep.setInitialStep("missing");
+        assertCompileError("Process type claim needs an initial-step and a start-event", noInitialStep);
+
+        FormFieldConfig.ProcessConfig noStartEvent = claim();
+        noStartEvent.setStartEvent(null);
+        assertCompileError("Process type claim needs an initial-step and a start-event", noStartEvent);
+    }
+
+    @Test
+    void needsOneStatePerStep() {
+        FormFieldConfig.ProcessConfig noState = claim();
+        noState.getSteps().get("review").setState(null);
+        assertCompileError("Step claim/review has no state", noState);
+
+        FormFieldConfig.ProcessConfig sharedState = claim();
+        sharedState.getSteps().get("review").setState("NEW");
+        assertCompileError("State NEW is used by more than one step of claim", sharedState);
+    }
+
+    @Test
+    void needsTheEndStatesActionsTarget() {
+        FormFieldConfig.ProcessConfig noEndStates = claim();
+        noEndStates.setEndStates(null);
+        assertCompileError("Action claim/review/approve targets PAID, which is neither a step nor an end state", noEndStates);
+
+        FormFieldConfig.ProcessConfig emptyEndState = claim();
+        emptyEndState.setEndStates(Arrays.asList("PAID", null));
+        assertCompileError("Process type claim has an empty end state", emptyEndState);
+    }
+
+    @Test
+    void rejectsActionsWithoutAnEventOrWithACompetingOne() {
+        FormFieldConfig.ProcessConfig noEvent = claim();
+        noEvent.getSteps().get("review").getActions().get(0).setEvent(null);
+        assertCompileError("Action claim/review/approve has a target but no event", noEvent);
+
+        FormFieldConfig.ProcessConfig competing = claim();
+        competing.getSteps().get("review").getActions().get(1).setEvent("APPROVE");
+        assertCompileError("Event APPROVE has more than one target in claim/review", competing);
+    }
+
+    @Test
+    void needsTheStartEventInTheInitialStep() {
+        FormFieldConfig.ProcessConfig config = claim();
+        config.setStartEvent("APPROVE");
+        assertCompileError("Start event APPROVE of claim is not accepted in the initial step", config);
+    }
+
+    @Test
+    void ignoresActionsWithoutATarget() {
+        FormFieldConfig.ProcessConfig config = claim();
+        config.getSteps().get("review").setActions(List.of(
+                action("approve", "APPROVE", "PAID"),
+                action("save", "SAVE", null)));
+
+        WorkflowModel model = WorkflowModel.compile("claim", config, (state, event) -> false);
+
+        assertFalse(model.hasEvent("SAVE"));
+        assertNull(model.target("REVIEW", "SAVE"));
+    }
+
+    private static void assertCompileError(String message, FormFieldConfig.ProcessConfig config) {
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> WorkflowModel.compile("claim", config, (state, event) -> false));
+        assertEquals(message, e.getMessage());
+    }
+
+    static FormFieldConfig.ProcessConfig claim() {
+        Map<String, FormFieldConfig.StepConfig> steps = new LinkedHashMap<>();
+        steps.put("start", step("NEW", action("open", "OPEN", "review")));
+        steps.put("review", step("REVIEW",
+                action("approve", "APPROVE", "PAID"),
+                action("reject", "REJECT", "REJECTED")));
+        return process("start", "OPEN", List.of("PAID", "REJECTED"), steps);
+    }
+
+    static FormFieldConfig.ProcessConfig process(String initialStep, String startEvent, List<String> endStates,
+                                                 Map<String, FormFieldConfig.StepConfig> steps) {
+        FormFieldConfig.ProcessConfig process = new FormFieldConfig.ProcessConfig();
+        process.setInitialStep(initialStep);
+        process.setStartEvent(startEvent);
+        process.setEndStates(endStates);
+        process.setSteps(steps);
+        return process;
+    }
+
+    static FormFieldConfig.StepConfig step(String state, FormFieldConfig.ActionConfig... actions) {
+        FormFieldConfig.StepConfig step = new FormFieldConfig.StepConfig();
+        step.setState(state);
+        step.setActions(List.of(actions));
+        return step;
+    }
+
+    static FormFieldConfig.ActionConfig action(String id, String event, String target) {
+        FormFieldConfig.ActionConfig action = new FormFieldConfig.ActionConfig();
+        action.setId(id);
+        action.setEvent(event);
+        action.setTarget(target);
+        return action;
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.example.demolition.statemachine;
+
+import com.example.demolition.config.FormFieldConfig;
+import com.example.demolition.config.StateMachineConfig;
+import com.example.demolition.config.StateMachinePoolProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.statemachine.config.StateMachineFactory;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.demolition.statemachine.WorkflowModelTest.action;
+import static com.example.demolition.statemachine.WorkflowModelTest.claim;
+import static com.example.demolition.statemachine.WorkflowModelTest.process;
+import static com.example.demolition.statemachine.WorkflowModelTest.step;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks workflows against the transition table of the real {@link StateMachineConfig}.
+ */
+class WorkflowRegistryTest {
+
+    private static AnnotationConfigApplicationContext context;
+    private static ProcessTransitionTable transitionTable;
+
+    @BeforeAll
+    @SuppressWarnings("unchecked")
+    static void buildTransitionTable() {
+        context = new AnnotationConfigApplicationContext();
+        context.register(StateMachineConfig.class);
+        context.refresh();
+
+        StateMachineFactory<ProcessStates, ProcessEvents> stateMachineFactory = context.getBean(StateMachineFactory.class);
+        StateMachinePool stateMachinePool = new StateMachinePool(stateMachineFactory, new StateMachinePoolProperties(),
+                new SimpleMeterRegistry());
+        transitionTable = new ProcessTransitionTable(stateMachineFactory, stateMachinePool);
+    }
+
+    @AfterAll
+    static void closeContext() {
+        context.close();
+    }
+
+    @Test
+    void acceptsWorkflowsThatMatchTheStateMachine() {
+        WorkflowRegistry registry = new WorkflowRegistry(config(Map.of("loan", loan(), "claim", claim())), transitionTable);
+
+        assertEquals("STEP_TWO", registry.model("loan").target("STEP_ONE", "STEP_ONE_SUBMIT"));
+        assertEquals("PAID", registry.model("claim").target("REVIEW", "APPROVE"));
+    }
+
+    @Test
+    void rejectsBuiltInWorkflowsThatDriftFromTheStateMachine() {
+        FormFieldConfig.ProcessConfig loan = loan();
+        loan.getSteps().get("one").setActions(List.of(
+                action("next", "STEP_ONE_SUBMIT", "three"),
+                action("skip", "SKIP", "two")));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> new WorkflowRegistry(config(Map.of("loan", loan)), transitionTable));
+        assertTrue(e.getMessage().startsWith("Workflow of loan does not match the state machine model: ["), e.getMessage());
+        assertTrue(e.getMessage().contains("STEP_ONE --STEP_ONE_SUBMIT--> workflow: STEP_THREE, state machine: STEP_TWO"), e.getMessage());
+        assertTrue(e.getMessage().contains("STEP_ONE --SKIP--> unknown event"), e.getMessage());
+    }
+
+    @Test
+    void reportsIncompleteWorkflowsInsteadOfFailingToClassifyThem() {
+        FormFieldConfig.ProcessConfig noState = loan();
+        noState.getSteps().get("two").setState(null);
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> new WorkflowRegistry(config(Map.of("loan", noState)), transitionTable));
+        assertEquals("Step loan/two has no state", e.getMessage());
+
+        FormFieldConfig.ProcessConfig noEndStates = loan();
+        noEndStates.setEndStates(null);
+        WorkflowRegistry registry = new WorkflowRegistry(config(Map.of("loan", noEndStates)), transitionTable);
+        assertTrue(registry.model("loan").endStates().isEmpty());
+    }
+
+    @Test
+    void refusesUnknownProcessTypes() {
+        WorkflowRegistry registry = new WorkflowRegistry(config(Map.of("claim", claim())), transitionTable);
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> registry.model("loan"));
+        assertEquals("Process type not configured: loan", e.getMessage());
+    }
+
+    private static FormFieldConfig config(Map<String, FormFieldConfig.ProcessConfig> processes) {
+        FormFieldConfig config = new FormFieldConfig();
+        config.setProcesses(processes);
+        return config;
+    }
+
+    private static FormFieldConfig.ProcessConfig loan() {
+        Map<String, FormFieldConfig.StepConfig> steps = new LinkedHashMap<>();
+        steps.put("selection", step("PROCESS_SELECTION", action("select", "PROCESS_SELECTED", "one")));
+        steps.put("one", step("STEP_ONE",
+                action("next", "STEP_ONE_SUBMIT", "two"),
+                action("reset", "RESET", "selection")));
+        steps.put("two", step("STEP_TWO", action("back", "BACK", "one")));
+        steps.put("three", step("STEP_THREE", action("back", "BACK", "two")));
+        return process("selection", "PROCESS_SELECTED", List.of("COMPLETED", "ERROR"), steps);
+    }
+
+}